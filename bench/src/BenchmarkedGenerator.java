@@ -0,0 +1,26 @@
+import java.util.SplittableRandom;
+
+import mazebench.GeneratorOps;
+
+// Represents one generation algorithm generating mazes of one size, seeded the
+// same on every benchmark run
+public class BenchmarkedGenerator implements GeneratorOps {
+    // The generator being benchmarked
+    MazeGenerator generator;
+    // The size of the generated mazes
+    int horLength;
+    int verLength;
+
+    // Creates the generator with the given name for mazes of the given size,
+    // written as horLength x verLength
+    public BenchmarkedGenerator(String algorithm, String size) {
+        String[] dims = size.split("x");
+        this.horLength = Integer.parseInt(dims[0]);
+        this.verLength = Integer.parseInt(dims[1]);
+        this.generator = new MazeGenerator(new SplittableRandom(0), algorithm);
+    }
+
+    public Object generate() {
+        return this.generator.generate(this.horLength, this.verLength);
+    }
+}
@@ -0,0 +1,71 @@
+
+import mazebench.MazeOps;
+
+// Represents a deterministic maze built with the testing constructor, so that
+// every benchmark run measures the same maze
+public class BenchmarkedMaze implements MazeOps {
+    // The game holding the generated and searched maze
+    MazeWorld world;
+    // The beginning and ending cells of the maze
+    Cell from;
+    Cell to;
+    // A cell in the middle of the maze
+    Cell middle;
+    // A manual solve of the maze that walked the correct path from beginning to end
+    ManualPath manualPath;
+
+    // Creates the maze of the given size, written as horLength x verLength
+    public BenchmarkedMaze(String size) {
+        String[] dims = size.split("x");
+        int horLength = Integer.parseInt(dims[0]);
+        int verLength = Integer.parseInt(dims[1]);
+        this.world = new MazeWorld(horLength, verLength, false);
+        this.world.started = true;
+        this.from = this.world.board.get(0);
+        this.to = this.world.board.get(horLength * verLength - 1);
+        this.middle = this.world.board.get(verLength / 2 * horLength + horLength / 2);
+        this.manualPath = new ManualPath(horLength * verLength, 0, horLength * verLength - 1);
+        for (int i = this.world.correctPath.size() - 3; i >= 0; i--) {
+            this.manualPath.move(this.world.correctPath.get(i).idx);
+        }
+    }
+
+    public Object makeFields() {
+        this.world.makeFields(true);
+        return this.world.board;
+    }
+
+    public void prepareWalls() {
+        this.world.generator.weigh(this.world.horLength, this.world.verLength);
+        this.world.generator.sort();
+    }
+
+    public Object makeMaze() {
+        this.world.makeMaze();
+        return this.world.edgesInTree;
+    }
+
+    public Object bfs() {
+        return this.world.board.bfs(this.from, this.to, this.world.edgesInTree);
+    }
+
+    public Object dfs() {
+        return this.world.board.dfs(this.from, this.to, this.world.edgesInTree);
+    }
+
+    public Object reconstruct() {
+        return this.world.board.reconstruct(this.from, this.to);
+    }
+
+    public Object reconstructManual() {
+        return this.manualPath.path(this.world.board);
+    }
+
+    public Object getNeighbors() {
+        return this.middle.getNeighbors(this.world.edgesInTree, this.world.board);
+    }
+
+    public Object makeScene() {
+        return this.world.makeScene();
+    }
+}
@@ -0,0 +1,33 @@
+import java.util.SplittableRandom;
+
+import mazebench.SolverOps;
+
+// Represents one solver solving the same maze covered with terrain, generated
+// from the same seed on every benchmark run
+public class BenchmarkedSolver implements SolverOps {
+    // The solver being benchmarked
+    ASolver solver;
+    // The maze being solved
+    Maze maze;
+
+    // Creates the solver with the given name for a maze of the given size,
+    // written as horLength x verLength
+    public BenchmarkedSolver(String name, String size) {
+        String[] dims = size.split("x");
+        int horLength = Integer.parseInt(dims[0]);
+        int verLength = Integer.parseInt(dims[1]);
+        this.maze = new MazeGenerator(new SplittableRandom(0)).generate(horLength, verLength);
+        byte[] terrain = new Terrain(new SplittableRandom(1)).lay(horLength, verLength);
+        if (name.equals("dijkstra")) {
+            this.solver = new DijkstraSolver(terrain);
+        } else if (name.equals("astar")) {
+            this.solver = new AStarSolver();
+        } else {
+            this.solver = new MazeSearch(false);
+        }
+    }
+
+    public Object solve() {
+        return this.solver.search(this.maze.passages, 0, this.maze.last());
+    }
+}
@@ -0,0 +1,47 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks of every maze generation algorithm generating a whole maze into
+// memory. The bytes allocated per generation (gc.alloc.rate.norm) bound the
+// memory each algorithm needs on top of the maze itself
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+@State(Scope.Benchmark)
+public class GeneratorBenchmarks {
+    // The name of the generation algorithm
+    @Param({ "kruskal", "wilson", "backtracker", "eller" })
+    public String algorithm;
+
+    // The size of the maze as horLength x verLength
+    @Param({ "40x20", "200x200", "1000x1000" })
+    public String size;
+
+    GeneratorOps generator;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.generator = (GeneratorOps) Class.forName("BenchmarkedGenerator")
+                .getConstructor(String.class, String.class).newInstance(this.algorithm, this.size);
+    }
+
+    @Benchmark
+    public Object generate() {
+        return this.generator.generate();
+    }
+}
@@ -0,0 +1,9 @@
+package mazebench;
+
+// Represents a maze generation algorithm being benchmarked. Like MazeOps, the
+// implementation (BenchmarkedGenerator) lives in the default package and is
+// loaded by name
+public interface GeneratorOps {
+    // Generates a new maze with the algorithm
+    Object generate();
+}
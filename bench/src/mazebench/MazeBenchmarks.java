@@ -0,0 +1,86 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks of the hot paths of maze generation, search and rendering
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g", "-Djava.awt.headless=true" })
+@State(Scope.Benchmark)
+public class MazeBenchmarks {
+    // The size of the maze as horLength x verLength
+    @Param({ "40x20", "200x200", "1000x1000", "2000x2000" })
+    public String size;
+
+    MazeOps maze;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.maze = (MazeOps) Class.forName("BenchmarkedMaze")
+                .getConstructor(String.class).newInstance(this.size);
+    }
+
+    // Represents walls that are weighed and sorted again before every generation
+    @State(Scope.Benchmark)
+    public static class PreparedWalls {
+        @Setup(Level.Invocation)
+        public void prepare(MazeBenchmarks bench) {
+            bench.maze.prepareWalls();
+        }
+    }
+
+    @Benchmark
+    public Object makeFields() {
+        return this.maze.makeFields();
+    }
+
+    @Benchmark
+    public Object makeMaze(PreparedWalls walls) {
+        return this.maze.makeMaze();
+    }
+
+    @Benchmark
+    public Object bfs() {
+        return this.maze.bfs();
+    }
+
+    @Benchmark
+    public Object dfs() {
+        return this.maze.dfs();
+    }
+
+    @Benchmark
+    public Object reconstruct() {
+        return this.maze.reconstruct();
+    }
+
+    @Benchmark
+    public Object reconstructManual() {
+        return this.maze.reconstructManual();
+    }
+
+    @Benchmark
+    public Object getNeighbors() {
+        return this.maze.getNeighbors();
+    }
+
+    @Benchmark
+    public Object makeScene() {
+        return this.maze.makeScene();
+    }
+}
@@ -0,0 +1,32 @@
+package mazebench;
+
+// Represents the benchmarked operations of one deterministic maze. The game
+// lives in the default package, which benchmarks can't import, so the
+// implementation (BenchmarkedMaze) is loaded by name and called through this
+public interface MazeOps {
+    // Rebuilds the board and the weighed and sorted walls of the maze
+    Object makeFields();
+
+    // Weighs and sorts the walls again, since makeMaze knocks them down only once
+    void prepareWalls();
+
+    // Generates the maze from the weighed and sorted walls
+    Object makeMaze();
+
+    // Searches the maze from the first to the last cell
+    Object bfs();
+
+    Object dfs();
+
+    // Traces the correct path after a search
+    Object reconstruct();
+
+    // Traces the correct path from the path stack of a manual solve
+    Object reconstructManual();
+
+    // Finds the reachable neighbors of a cell in the middle of the maze
+    Object getNeighbors();
+
+    // Builds the scene of the fully generated maze
+    Object makeScene();
+}
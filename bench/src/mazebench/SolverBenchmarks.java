@@ -0,0 +1,46 @@
+package mazebench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks of the solvers searching a maze covered with terrain, comparing
+// dijkstra's algorithm on the indexed heap with the unweighted searches
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx8g" })
+@State(Scope.Benchmark)
+public class SolverBenchmarks {
+    // The name of the solver
+    @Param({ "bfs", "astar", "dijkstra" })
+    public String solver;
+
+    // The size of the maze as horLength x verLength
+    @Param({ "200x200", "1000x1000", "2000x2000" })
+    public String size;
+
+    SolverOps maze;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.maze = (SolverOps) Class.forName("BenchmarkedSolver")
+                .getConstructor(String.class, String.class).newInstance(this.solver, this.size);
+    }
+
+    @Benchmark
+    public Object solve() {
+        return this.maze.solve();
+    }
+}
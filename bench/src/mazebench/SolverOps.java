@@ -0,0 +1,8 @@
+package mazebench;
+
+// Represents a maze solver being benchmarked. Like MazeOps, the implementation
+// (BenchmarkedSolver) lives in the default package and is loaded by name
+public interface SolverOps {
+    // Solves the maze from its first to its last cell
+    Object solve();
+}
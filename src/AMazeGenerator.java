@@ -0,0 +1,83 @@
+import java.util.SplittableRandom;
+
+// Represents an algorithm that generates random mazes by knocking down walls
+// until there is one, non-cyclic path to any two cells. Every algorithm writes
+// its walls to an IMazeWalls in the order it knocks them down, so the same maze
+// can be built into a Maze, a MappedMaze or the edges of a game
+abstract class AMazeGenerator {
+    // The source of the random choices of this generator
+    SplittableRandom rand;
+
+    AMazeGenerator(SplittableRandom rand) {
+        this.rand = rand;
+    }
+
+    // EFFECT: knocks down the walls of a maze of the given size in the given
+    // walls, so that there is one, non-cyclic path to any two cells
+    abstract void generate(int horLength, int verLength, IMazeWalls walls);
+
+    // Returns the name of this generator
+    abstract String name();
+
+    // EFFECT: lists and weighs the walls of a maze of the given size ahead of
+    // generate, so that the work can be timed apart. Generators that don't weigh
+    // their walls do nothing
+    void weigh(int horLength, int verLength) {
+    }
+
+    // EFFECT: orders the walls listed by weigh ahead of generate. Generators
+    // that don't weigh their walls do nothing
+    void sort() {
+    }
+
+    // Returns the generator with the given name, making its choices with the
+    // given source
+    static AMazeGenerator named(String name, SplittableRandom rand) {
+        if (name.equals("kruskal")) {
+            return new KruskalGenerator(rand);
+        } else if (name.equals("wilson")) {
+            return new WilsonGenerator(rand);
+        } else if (name.equals("backtracker")) {
+            return new BacktrackerGenerator(rand);
+        } else if (name.equals("eller")) {
+            return new EllerGenerator(rand);
+        } else {
+            throw new IllegalArgumentException("Unknown maze generator: " + name);
+        }
+    }
+
+    // EFFECT: knocks down the wall between the two given neighboring cells in
+    // the given walls
+    void open(IMazeWalls walls, int one, int two) {
+        int first = Math.min(one, two);
+        if (Math.abs(one - two) == 1) {
+            walls.openEast(first);
+        } else {
+            walls.openSouth(first);
+        }
+    }
+
+    // Returns the amount of neighbors of the given cell in a maze of the given
+    // size
+    // EFFECT: writes the indices of the neighbors to the start of the given array
+    int neighbors(int cell, int horLength, int verLength, int[] into) {
+        int count = 0;
+        if (cell >= horLength) {
+            into[count] = cell - horLength;
+            count = count + 1;
+        }
+        if ((cell + 1) % horLength != 0) {
+            into[count] = cell + 1;
+            count = count + 1;
+        }
+        if (cell < horLength * (verLength - 1)) {
+            into[count] = cell + horLength;
+            count = count + 1;
+        }
+        if (cell % horLength != 0) {
+            into[count] = cell - 1;
+            count = count + 1;
+        }
+        return count;
+    }
+}
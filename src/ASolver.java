@@ -0,0 +1,71 @@
+import java.util.Arrays;
+
+// Represents a strategy for solving a maze, which records the cells it
+// processes in order so that the search can be animated and replayed
+abstract class ASolver {
+    // The cells processed by the last search, in the order they were processed
+    int[] order;
+    // The amount of cells in order
+    int expanded;
+    // The index of the cell each cell was reached from on the way from the
+    // beginning cell, or -1
+    int[] cameFrom;
+
+    // Searches the maze with the given passages from the given cell to the given
+    // cell, returning the amount of cells processed
+    // EFFECT: fills order and cameFrom
+    abstract int search(NeighborIndex passages, int from, int to);
+
+    // Returns the name of this solver, as shown on its button
+    abstract String name();
+
+    // Returns the solver with the given name, as the command line tools take it,
+    // where dijkstra's algorithm solves a maze covered with the given terrain
+    static ASolver named(String name, byte[] terrain) {
+        if (name.equals("bfs")) {
+            return new MazeSearch(false);
+        } else if (name.equals("dfs")) {
+            return new MazeSearch(true);
+        } else if (name.equals("astar")) {
+            return new AStarSolver();
+        } else if (name.equals("bidi")) {
+            return new BidirectionalSolver();
+        } else if (name.equals("dijkstra")) {
+            return new DijkstraSolver(terrain);
+        } else {
+            throw new IllegalArgumentException("Unknown solver: " + name);
+        }
+    }
+
+    // EFFECT: clears the results of the last search for a maze of the given size
+    void reset(int size) {
+        if (this.order == null || this.order.length != size) {
+            this.order = new int[size];
+            this.cameFrom = new int[size];
+        }
+        Arrays.fill(this.cameFrom, -1);
+        this.expanded = 0;
+    }
+
+    // EFFECT: records the given cell as the next one processed
+    void expand(int cell) {
+        this.order[this.expanded] = cell;
+        this.expanded = this.expanded + 1;
+    }
+
+    // Traces the path of the last search from the ending cell back to the
+    // beginning cell
+    int[] path(int from, int to) {
+        int length = 1;
+        for (int c = to; c != from; c = this.cameFrom[c]) {
+            length = length + 1;
+        }
+        int[] path = new int[length];
+        int c = to;
+        for (int i = 0; i < length; i++) {
+            path[i] = c;
+            c = this.cameFrom[c];
+        }
+        return path;
+    }
+}
@@ -0,0 +1,63 @@
+import java.util.Arrays;
+
+// Represents an A* search of a maze, which processes the cells with the
+// lowest distance traveled plus manhattan distance left first
+class AStarSolver extends ASolver {
+    // The cells waiting to be processed
+    IntMinHeap worklist;
+
+    AStarSolver() {
+        this.worklist = new IntMinHeap(1024);
+    }
+
+    // Returns the name of this solver, as shown on its button
+    String name() {
+        return "A*";
+    }
+
+    // Searches the maze with the given passages from the given cell to the given
+    // cell, returning the amount of cells processed
+    // EFFECT: fills order and cameFrom
+    int search(NeighborIndex passages, int from, int to) {
+        int size = passages.degree.length;
+        this.reset(size);
+        // The shortest known distance to every cell from the beginning cell
+        int[] dist = new int[size];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        boolean[] done = new boolean[size];
+        dist[from] = 0;
+        this.worklist.clear();
+        this.worklist.push(from, this.priority(0, from, to, passages.horLength));
+        while (!this.worklist.isEmpty()) {
+            int next = this.worklist.pop();
+            // Skip stale copies of cells that were already processed
+            if (done[next]) {
+                continue;
+            }
+            done[next] = true;
+            this.expand(next);
+            if (next == to) {
+                break;
+            }
+            for (int k = 0; k < passages.degree(next); k++) {
+                int n = passages.neighbor(next, k);
+                if (dist[next] + 1 < dist[n]) {
+                    dist[n] = dist[next] + 1;
+                    this.cameFrom[n] = next;
+                    this.worklist.push(n, this.priority(dist[n], n, to, passages.horLength));
+                }
+            }
+        }
+        return this.expanded;
+    }
+
+    // Returns the priority of the given cell, which was reached in the given
+    // distance, when searching for the given ending cell: the estimated length
+    // of the whole path in the high bits, and the manhattan distance left in the
+    // low bits so that ties go to the cell closer to the end
+    long priority(int dist, int cell, int to, int horLength) {
+        int left = Math.abs(cell % horLength - to % horLength)
+                + Math.abs(cell / horLength - to / horLength);
+        return (long) (dist + left) << 32 | left;
+    }
+}
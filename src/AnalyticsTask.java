@@ -0,0 +1,54 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+// Represents a range of mazes to generate and analyze, split in half until it
+// is small enough for one thread. Every maze comes from its own seed and has its
+// own slot in the results, so the results don't depend on how the work is split
+class AnalyticsTask extends RecursiveAction {
+    static final long serialVersionUID = 1L;
+    // The most mazes a task analyzes without splitting
+    static final int LEAF_MAZES = 16;
+
+    // The size of the mazes
+    int horLength;
+    int verLength;
+    // The name of the algorithm generating the mazes, as AMazeGenerator.named takes
+    String algorithm;
+    // The seed of every maze
+    long[] seeds;
+    // The statistics of every maze, filled in by the tasks
+    MazeStats[] results;
+    // The range of mazes of this task, from the first (inclusive) to the last
+    // (exclusive)
+    int first;
+    int last;
+
+    AnalyticsTask(int horLength, int verLength, String algorithm, long[] seeds,
+            MazeStats[] results, int first, int last) {
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.algorithm = algorithm;
+        this.seeds = seeds;
+        this.results = results;
+        this.first = first;
+        this.last = last;
+    }
+
+    // Analyzes the mazes of this, splitting the range in half until it is small
+    protected void compute() {
+        if (this.last - this.first <= LEAF_MAZES) {
+            MazeGenerator generator = new MazeGenerator(new SplittableRandom(0), this.algorithm);
+            MazeAnalyzer analyzer = new MazeAnalyzer();
+            for (int i = this.first; i < this.last; i++) {
+                this.results[i] = analyzer.analyze(generator.generate(this.horLength,
+                        this.verLength, this.seeds[i]));
+            }
+        } else {
+            int middle = (this.first + this.last) / 2;
+            invokeAll(new AnalyticsTask(this.horLength, this.verLength, this.algorithm,
+                    this.seeds, this.results, this.first, middle),
+                    new AnalyticsTask(this.horLength, this.verLength, this.algorithm,
+                            this.seeds, this.results, middle, this.last));
+        }
+    }
+}
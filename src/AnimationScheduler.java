@@ -0,0 +1,61 @@
+// Represents the pacing of an animation played one tick at a time, such as the
+// walls of a maze being knocked down or the cells of a search being colored.
+// Instead of one step per tick, every tick advances as many steps as keep the
+// animation on schedule to finish within a target duration, based on how long
+// ticks are actually taking. Animations short enough to finish in time at one
+// step per tick are played at one step per tick
+class AnimationScheduler {
+    // The duration an animation should take if it can't finish at one step per tick
+    static final long DEFAULT_NANOS = 5_000_000_000L;
+    // How much of the newest measurement goes into the average time between ticks
+    static final double SMOOTHING = 0.2;
+
+    // The duration every animation should take at most in nanoseconds, or 0 to
+    // always take one step per tick
+    long targetNanos;
+    // When the current animation started and when its last tick happened
+    long start;
+    long last;
+    // The average time between two ticks of the current animation in nanoseconds
+    double interval;
+    // Whether the current animation should finish on its next tick
+    boolean skipping;
+
+    AnimationScheduler(long targetNanos) {
+        this.targetNanos = targetNanos;
+        this.skipping = false;
+    }
+
+    // Returns the amount of steps the current tick should advance an animation of
+    // the given amount of steps that has taken the given amount so far. An
+    // animation starts when none of its steps have been taken
+    // EFFECT: measures the time since the last tick
+    int batch(int done, int total) {
+        long now = System.nanoTime();
+        if (done == 0) {
+            this.start = now;
+            this.last = now;
+            this.interval = 0;
+        } else {
+            double measured = now - this.last;
+            this.interval = this.interval + SMOOTHING * (measured - this.interval);
+            this.last = now;
+        }
+        if (this.skipping) {
+            this.skipping = false;
+            return total - done;
+        }
+        if (this.targetNanos <= 0) {
+            return 1;
+        }
+        // Take enough steps to be on schedule by the time of the next tick
+        double progress = (now - this.start + this.interval) / this.targetNanos;
+        long due = (long) Math.ceil(Math.min(1, progress) * total) - done;
+        return (int) Math.max(1, due);
+    }
+
+    // EFFECT: makes the current animation finish on its next tick
+    void skip() {
+        this.skipping = true;
+    }
+}
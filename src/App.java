@@ -1,6 +1,20 @@
+import java.nio.file.Path;
+
 public class App {
     public static void main(String[] args) throws Exception {
-        MazeWorld starterWorld = new MazeWorld(40, 20);
+        MazeWorld starterWorld;
+        // Play the maze saved in the given file, if there is one
+        if (args.length > 0) {
+            starterWorld = new MazeFile().readWorld(Path.of(args[0]));
+        } else {
+            starterWorld = new MazeWorld(40, 20);
+        }
+        // Replay the search saved in the given file on that maze, if there is one
+        if (args.length > 1) {
+            starterWorld.loadTrace(SearchTrace.read(Path.of(args[1])));
+        }
+        // Generate the next mazes in the background while this one is played
+        starterWorld.usePipeline(new MazePipeline());
         starterWorld.bigBang(1300, 730, .001);
     }
 }
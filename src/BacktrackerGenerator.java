@@ -0,0 +1,50 @@
+import java.util.SplittableRandom;
+
+// Represents a generator of random mazes using the recursive backtracker, which
+// walks from a random cell to random unvisited neighbors and backs up when it
+// runs out of them. The walk is kept on an explicit stack of cell indices, so
+// large mazes can't overflow the call stack. Its mazes have long, winding
+// corridors with few dead ends
+class BacktrackerGenerator extends AMazeGenerator {
+    BacktrackerGenerator(SplittableRandom rand) {
+        super(rand);
+    }
+
+    // EFFECT: knocks down the walls of a maze of the given size in the given walls
+    void generate(int horLength, int verLength, IMazeWalls walls) {
+        int cells = horLength * verLength;
+        boolean[] visited = new boolean[cells];
+        int[] stack = new int[cells];
+        int[] options = new int[4];
+        int top = 0;
+        int start = this.rand.nextInt(cells);
+        visited[start] = true;
+        stack[top] = start;
+        top = top + 1;
+        while (top > 0) {
+            int cell = stack[top - 1];
+            // Keep only the neighbors that haven't been visited yet
+            int count = this.neighbors(cell, horLength, verLength, options);
+            int unvisited = 0;
+            for (int n = 0; n < count; n++) {
+                if (!visited[options[n]]) {
+                    options[unvisited] = options[n];
+                    unvisited = unvisited + 1;
+                }
+            }
+            if (unvisited == 0) {
+                top = top - 1;
+            } else {
+                int next = options[this.rand.nextInt(unvisited)];
+                visited[next] = true;
+                this.open(walls, cell, next);
+                stack[top] = next;
+                top = top + 1;
+            }
+        }
+    }
+
+    String name() {
+        return "backtracker";
+    }
+}
@@ -0,0 +1,84 @@
+import java.util.Arrays;
+
+// Represents a breadth first search of a maze from both ends at once, taking
+// turns processing a cell from each end until the two searches meet
+class BidirectionalSolver extends ASolver {
+    // Returns the name of this solver, as shown on its button
+    String name() {
+        return "Bi-BFS";
+    }
+
+    // Searches the maze with the given passages from the given cell to the given
+    // cell, returning the amount of cells processed
+    // EFFECT: fills order and cameFrom
+    int search(NeighborIndex passages, int from, int to) {
+        int size = passages.degree.length;
+        this.reset(size);
+        if (from == to) {
+            this.expand(from);
+            return this.expanded;
+        }
+        // Which search reached every cell: 0 for neither, 1 from the beginning
+        // cell and 2 from the ending cell
+        byte[] side = new byte[size];
+        // The index of the cell every cell reached from the ending cell came
+        // from, on the way to the ending cell
+        int[] toward = new int[size];
+        Arrays.fill(toward, -1);
+        // The queues of both searches, each holding every cell at most once
+        int[] forward = new int[size];
+        int[] backward = new int[size];
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+        forward[0] = from;
+        backward[0] = to;
+        side[from] = 1;
+        side[to] = 2;
+        // The cells on either side of the passage where the searches met
+        int meetForward = -1;
+        int meetBackward = -1;
+        boolean fromBeginning = true;
+        while (meetForward == -1 && forwardHead < forwardTail && backwardHead < backwardTail) {
+            int next;
+            if (fromBeginning) {
+                next = forward[forwardHead];
+                forwardHead = forwardHead + 1;
+            } else {
+                next = backward[backwardHead];
+                backwardHead = backwardHead + 1;
+            }
+            this.expand(next);
+            for (int k = 0; k < passages.degree(next) && meetForward == -1; k++) {
+                int n = passages.neighbor(next, k);
+                if (side[n] == 0) {
+                    side[n] = side[next];
+                    if (fromBeginning) {
+                        this.cameFrom[n] = next;
+                        forward[forwardTail] = n;
+                        forwardTail = forwardTail + 1;
+                    } else {
+                        toward[n] = next;
+                        backward[backwardTail] = n;
+                        backwardTail = backwardTail + 1;
+                    }
+                }
+                // If the other search already reached this neighbor, they met
+                else if (side[n] != side[next]) {
+                    meetForward = fromBeginning ? next : n;
+                    meetBackward = fromBeginning ? n : next;
+                }
+            }
+            fromBeginning = !fromBeginning;
+        }
+        // Join the two halves, so that the whole path can be traced from cameFrom
+        if (meetForward != -1) {
+            this.cameFrom[meetBackward] = meetForward;
+            for (int c = meetBackward; c != to; c = toward[c]) {
+                this.cameFrom[toward[c]] = c;
+            }
+        }
+        return this.expanded;
+    }
+}
@@ -1,85 +1,64 @@
-// Represents a cell in the maze
+// Represents a view of a cell in the grid of a maze
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.List;
 
 import javalib.impworld.WorldScene;
 import javalib.worldimages.RectangleImage;
 
 public class Cell {
-    // The dimensions of the maze this cell is in
-    private int verLength;
-    private int horLength;
+    // The grid holding the state of this cell
+    private Grid grid;
     // This cells index in the maze board
     public int idx;
-    // The dimensions of this
-    private int xSize;
-    private int ySize;
-    // The center coordinates of this
-    private int x;
-    private int y;
-    private Color color;
 
-    // Constructor that calculates correct dimensions and coordinates of this
-    public Cell(int horLength, int verLength, int idx) {
-        // Calculates dimensions based on 1000x600 total boardsize
-        this.horLength = horLength;
-        this.verLength = verLength;
+    // Constructor for the view of the cell at the given index of the given grid
+    public Cell(Grid grid, int idx) {
+        this.grid = grid;
         this.idx = idx;
-        this.xSize = 1000 / horLength;
-        this.ySize = 600 / verLength;
-        // If this is the top left cell
-        if (idx == 0) {
-            this.x = this.xSize / 2;
-            this.y = this.ySize / 2;
-            this.color = Color.pink;
-        } else {
-            this.x = idx % horLength * this.xSize + this.xSize / 2;
-            this.y = idx / horLength * this.ySize + this.ySize / 2;
-            // If this is the bottom right cell
-            if (idx == horLength * verLength - 1) {
-                this.color = Color.cyan;
-            }
-            // If this is any other cell
-            else {
-                this.color = Color.lightGray;
-            }
-        }
     }
 
     // EFFECT: places this cell onto the given WorldScene
     public void drawCell(WorldScene scene) {
-        scene.placeImageXY(new RectangleImage(this.xSize, this.ySize, "solid",
-                this.color), this.x, this.y);
+        scene.placeImageXY(new RectangleImage(this.grid.xSize, this.grid.ySize, "solid",
+                this.grid.color(this.idx)), this.coord(true), this.coord(false));
     }
 
     // Returns a dimension of this (x is true, y is false)
     public int dimen(boolean x) {
         if (x) {
-            return this.xSize;
+            return this.grid.xSize;
         } else {
-            return this.ySize;
+            return this.grid.ySize;
         }
     }
 
     // Returns a coordinate of this (x is true, y is false)
     public int coord(boolean x) {
+        return this.grid.coord(this.idx, x);
+    }
+
+    // Returns a dimension of the maze this is in, in cells (x is true, y is false)
+    public int boardLength(boolean x) {
         if (x) {
-            return this.x;
+            return this.grid.horLength;
         } else {
-            return this.y;
+            return this.grid.verLength;
         }
     }
 
     // EFFECT: changes the color of this to the given
     public void changeColor(Color col) {
-        this.color = col;
+        this.grid.changeColor(this.idx, col);
     }
 
     // Returns a list of cells that are reachable neighbors of this
-    public ArrayList<Cell> getNeighbors(ArrayList<Edge> edges, ArrayList<Cell> board) {
+    public ArrayList<Cell> getNeighbors(List<Edge> edges, Graph board) {
         ArrayList<Cell> neighbors = new ArrayList<Cell>();
-        // The amount of cells there are in one row
+        // The amount of cells there are in one row and column
+        int horLength = this.grid.horLength;
+        int verLength = this.grid.verLength;
         for (Edge edge : edges) {
             // If this is a top left cell
             if (this.idx == 0) {
@@ -109,7 +88,7 @@ public class Cell {
                 edge.fromNeighbor(board.get(idx - horLength), board.get(idx), neighbors);
             }
             // If this is in the left column
-            else if ((idx + 1) % horLength == 0 && idx > horLength * (600 / this.ySize - 1)) {
+            else if ((idx + 1) % horLength == 0 && idx > horLength * (600 / this.grid.ySize - 1)) {
                 edge.toNeighbor(board.get(idx), board.get(idx + 1), neighbors);
                 edge.toNeighbor(board.get(idx), board.get(idx + horLength), neighbors);
                 edge.fromNeighbor(board.get(idx - horLength), board.get(idx), neighbors);
@@ -133,6 +112,17 @@ public class Cell {
 
     // Determines if this cell has been searched or not
     public boolean searched() {
-        return this.color == Color.pink;
+        return this.grid.color(this.idx) == Color.pink;
+    }
+
+    // Determines if the given object is a view of the same cell as this
+    public boolean equals(Object other) {
+        return other instanceof Cell && ((Cell) other).grid == this.grid
+                && ((Cell) other).idx == this.idx;
+    }
+
+    // Returns the hash code of this cell, its index
+    public int hashCode() {
+        return this.idx;
     }
 }
\ No newline at end of file
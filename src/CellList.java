@@ -0,0 +1,77 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+
+// Represents a list of cells of a grid stored as their indices, so that a list
+// of every cell takes four bytes per cell. Its cells are views created when
+// they are read
+class CellList extends AbstractList<Cell> {
+    // The grid the cells are in
+    Grid grid;
+    // The indices of the cells in this list, followed by unused space
+    int[] cells;
+    // The amount of cells in this list
+    int size;
+
+    CellList(Grid grid) {
+        this(grid, 16);
+    }
+
+    CellList(Grid grid, int capacity) {
+        this.grid = grid;
+        this.cells = new int[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    // Returns the amount of cells in this list
+    public int size() {
+        return this.size;
+    }
+
+    // Returns the cell at the given position of this list
+    public Cell get(int pos) {
+        return new Cell(this.grid, this.index(pos));
+    }
+
+    // Returns the index of the cell at the given position of this list
+    int index(int pos) {
+        if (pos < 0 || pos >= this.size) {
+            throw new IndexOutOfBoundsException("Position " + pos + " of " + this.size);
+        }
+        return this.cells[pos];
+    }
+
+    // EFFECT: adds the given cell to the end of this list
+    public boolean add(Cell cell) {
+        this.addIndex(cell.idx);
+        return true;
+    }
+
+    // EFFECT: adds the cell at the given index to the end of this list
+    void addIndex(int idx) {
+        if (this.size == this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, this.size * 2);
+        }
+        this.cells[this.size] = idx;
+        this.size = this.size + 1;
+        this.modCount = this.modCount + 1;
+    }
+
+    // Determines if the given cell is in this list
+    public boolean contains(Object other) {
+        if (other instanceof Cell && other.equals(new Cell(this.grid, ((Cell) other).idx))) {
+            int idx = ((Cell) other).idx;
+            for (int pos = 0; pos < this.size; pos++) {
+                if (this.cells[pos] == idx) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // EFFECT: removes every cell from this list
+    public void clear() {
+        this.size = 0;
+        this.modCount = this.modCount + 1;
+    }
+}
@@ -1,9 +0,0 @@
-import java.util.Comparator;
-
-// Represents a comparator for edges
-class CompareEdges implements Comparator<Edge> {
-    // Compares edges by weight
-    public int compare(Edge one, Edge two) {
-        return one.weight - two.weight;
-    }
-}
\ No newline at end of file
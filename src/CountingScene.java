@@ -0,0 +1,19 @@
+import javalib.impworld.WorldScene;
+import javalib.worldimages.WorldImage;
+
+// Represents a scene that counts the images placed onto it
+class CountingScene extends WorldScene {
+    // The amount of images placed onto this scene
+    int images;
+
+    CountingScene(int width, int height) {
+        super(width, height);
+        this.images = 0;
+    }
+
+    // EFFECT: places the given image onto this scene and counts it
+    public void placeImageXY(WorldImage image, int x, int y) {
+        super.placeImageXY(image, x, y);
+        this.images = this.images + 1;
+    }
+}
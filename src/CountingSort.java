@@ -0,0 +1,37 @@
+import java.util.Arrays;
+
+// Represents a stable, linear time sort of items by small, non-negative keys,
+// used to order edges by weight
+class CountingSort {
+    // The arrays of the last sort, reused by the next sort of the same size
+    int[] starts;
+    int[] order;
+
+    // Returns the indices of the given keys, which are all below the given bound,
+    // ordered by ascending key, where items with equal keys keep their order. The
+    // result is overwritten by the next sort of the same size
+    int[] order(int[] keys, int bound) {
+        // The position in the result where the items of each key start
+        if (this.starts == null || this.starts.length != bound + 1) {
+            this.starts = new int[bound + 1];
+        } else {
+            Arrays.fill(this.starts, 0);
+        }
+        int[] starts = this.starts;
+        for (int key : keys) {
+            starts[key + 1] = starts[key + 1] + 1;
+        }
+        for (int k = 0; k < bound; k++) {
+            starts[k + 1] = starts[k + 1] + starts[k];
+        }
+        if (this.order == null || this.order.length != keys.length) {
+            this.order = new int[keys.length];
+        }
+        int[] order = this.order;
+        for (int i = 0; i < keys.length; i++) {
+            order[starts[keys[i]]] = i;
+            starts[keys[i]] = starts[keys[i]] + 1;
+        }
+        return order;
+    }
+}
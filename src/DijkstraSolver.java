@@ -0,0 +1,69 @@
+import java.util.Arrays;
+
+// Represents a search of a maze for the path of the lowest cost with
+// Dijkstra's algorithm, which processes the cells with the lowest cost to reach
+// first. Entering a cell costs the cost of its terrain, or 1 without terrain
+class DijkstraSolver extends ASolver {
+    // The terrain of every cell of the maze, or null if every cell costs 1
+    byte[] terrain;
+    // The cells waiting to be processed, by the lowest known cost to reach them
+    IndexedMinHeap worklist;
+    // The lowest known cost to reach every cell from the beginning cell
+    int[] dist;
+
+    DijkstraSolver(byte[] terrain) {
+        this.terrain = terrain;
+    }
+
+    // Returns the name of this solver, as shown on its button
+    String name() {
+        return "Dijkstra";
+    }
+
+    // Returns the cost of entering the cell at the given index
+    int cost(int cell) {
+        if (this.terrain == null) {
+            return 1;
+        }
+        return Terrain.COSTS[this.terrain[cell]];
+    }
+
+    // Searches the maze with the given passages from the given cell to the given
+    // cell, returning the amount of cells processed
+    // EFFECT: fills order, cameFrom and dist
+    int search(NeighborIndex passages, int from, int to) {
+        int size = passages.degree.length;
+        if (this.terrain != null && this.terrain.length != size) {
+            throw new IllegalArgumentException("Terrain of " + this.terrain.length
+                    + " cells for a maze of " + size);
+        }
+        this.reset(size);
+        if (this.worklist == null || this.worklist.capacity() != size) {
+            this.worklist = new IndexedMinHeap(size);
+            this.dist = new int[size];
+        } else {
+            this.worklist.clear();
+        }
+        Arrays.fill(this.dist, Integer.MAX_VALUE);
+        this.dist[from] = 0;
+        this.worklist.offer(from, 0);
+        while (!this.worklist.isEmpty()) {
+            int next = this.worklist.pop();
+            this.expand(next);
+            if (next == to) {
+                break;
+            }
+            for (int k = 0; k < passages.degree(next); k++) {
+                int n = passages.neighbor(next, k);
+                int cost = this.dist[next] + this.cost(n);
+                // A processed cell already has its lowest cost, since no cost is negative
+                if (cost < this.dist[n]) {
+                    this.dist[n] = cost;
+                    this.cameFrom[n] = next;
+                    this.worklist.offer(n, cost);
+                }
+            }
+        }
+        return this.expanded;
+    }
+}
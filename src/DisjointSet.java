@@ -0,0 +1,60 @@
+import java.util.Arrays;
+
+// Represents disjoint sets of cells, indexed by each cell's idx, used to track
+// which cells of the maze are already linked
+class DisjointSet {
+    // The parent of each cell, where a cell that is its own parent represents its set
+    int[] parent;
+    // An upper bound on the height of the tree below each representative
+    byte[] rank;
+
+    // Creates a set for every one of the given amount of cells
+    DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.reset();
+    }
+
+    // EFFECT: puts every cell back in a set of its own
+    void reset() {
+        for (int i = 0; i < this.parent.length; i++) {
+            this.parent[i] = i;
+        }
+        Arrays.fill(this.rank, (byte) 0);
+    }
+
+    // Finds the final representative of the cell at the given index
+    // EFFECT: points every cell on the way directly at the representative
+    int find(int idx) {
+        int root = idx;
+        while (this.parent[root] != root) {
+            root = this.parent[root];
+        }
+        while (this.parent[idx] != root) {
+            int next = this.parent[idx];
+            this.parent[idx] = root;
+            idx = next;
+        }
+        return root;
+    }
+
+    // Links the sets of the two cells at the given indices, returning false
+    // if they were already in the same set
+    // EFFECT: attaches the shorter tree below the representative of the taller one
+    boolean union(int one, int two) {
+        int repOne = this.find(one);
+        int repTwo = this.find(two);
+        if (repOne == repTwo) {
+            return false;
+        }
+        if (this.rank[repOne] < this.rank[repTwo]) {
+            this.parent[repOne] = repTwo;
+        } else if (this.rank[repOne] > this.rank[repTwo]) {
+            this.parent[repTwo] = repOne;
+        } else {
+            this.parent[repTwo] = repOne;
+            this.rank[repOne] = (byte) (this.rank[repOne] + 1);
+        }
+        return true;
+    }
+}
@@ -1,8 +1,7 @@
-// Represents an edge between two cells
+// Represents an edge between two cells, usually a view of an edge in an EdgeList
 
 import java.awt.Color;
 import java.util.ArrayList;
-import java.util.Random;
 
 import javalib.impworld.WorldScene;
 import javalib.worldimages.RectangleImage;
@@ -16,12 +15,11 @@ public class Edge {
     // Whether this edge is horizontal (t) or vertical (f)
     private boolean hor;
 
-    public Edge(Cell from, Cell to, int edgeAmount, boolean hor) {
+    public Edge(Cell from, Cell to, int weight, boolean hor) {
         this.from = from;
         this.to = to;
         this.hor = hor;
-        // Gives this edge a random weight
-        this.weight = new Random().nextInt(edgeAmount);
+        this.weight = weight;
     }
 
     // EFFECT: places this edge onto the given WorldScene
@@ -48,7 +46,7 @@ public class Edge {
     // maze
     // EFFECT: Adds the from cell of this edge to the given list
     public void fromNeighbor(Cell from, Cell to, ArrayList<Cell> neighbors) {
-        if (this.from == from && this.to == to) {
+        if (this.from.equals(from) && this.to.equals(to)) {
             neighbors.add(from);
         }
     }
@@ -57,7 +55,7 @@ public class Edge {
     // maze
     // EFFECT: Adds the to cell of this edge to the given list
     public void toNeighbor(Cell from, Cell to, ArrayList<Cell> neighbors) {
-        if (this.from == from && this.to == to) {
+        if (this.from.equals(from) && this.to.equals(to)) {
             neighbors.add(to);
         }
     }
@@ -0,0 +1,20 @@
+// Represents the walls a maze generator knocks down in a game, collected as
+// the edges between the cells of its board in the order they come down
+class EdgeCollector implements IMazeWalls {
+    // The edges knocked down so far
+    EdgeList edges;
+
+    EdgeCollector(EdgeList edges) {
+        this.edges = edges;
+    }
+
+    // EFFECT: adds the edge between the cell at the given index and the cell to its right
+    public void openEast(long idx) {
+        this.edges.addEdge((int) idx, false);
+    }
+
+    // EFFECT: adds the edge between the cell at the given index and the cell below it
+    public void openSouth(long idx) {
+        this.edges.addEdge((int) idx, true);
+    }
+}
@@ -0,0 +1,114 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+
+// Represents a list of edges between neighboring cells of a grid, stored as
+// the index of their left or top cell and whether they separate it from the
+// cell below, so that every edge takes four bytes. Its edges are views created
+// when they are read, and have no weight, since lists that were sorted by
+// weight are already in the order their weights put them in
+class EdgeList extends AbstractList<Edge> {
+    // The grid the edges are in
+    Grid grid;
+    // The edges in this list, each as twice the index of its left or top cell,
+    // plus one if it separates that cell from the cell below, followed by unused
+    // space
+    int[] edges;
+    // The amount of edges in this list
+    int size;
+
+    EdgeList(Grid grid) {
+        this(grid, 16);
+    }
+
+    EdgeList(Grid grid, int capacity) {
+        this.grid = grid;
+        this.edges = new int[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    // Returns the amount of edges in this list
+    public int size() {
+        return this.size;
+    }
+
+    // Returns the edge at the given position of this list
+    public Edge get(int pos) {
+        if (pos < 0 || pos >= this.size) {
+            throw new IndexOutOfBoundsException("Position " + pos + " of " + this.size);
+        }
+        int from = this.from(pos);
+        boolean hor = (this.edges[pos] & 1) == 1;
+        int to = hor ? from + this.grid.horLength : from + 1;
+        return new Edge(new Cell(this.grid, from), new Cell(this.grid, to), 0, hor);
+    }
+
+    // Returns the index of the left or top cell of the edge at the given position
+    int from(int pos) {
+        return this.edges[pos] >>> 1;
+    }
+
+    // Returns the index of the right or bottom cell of the edge at the given position
+    int to(int pos) {
+        if ((this.edges[pos] & 1) == 1) {
+            return this.from(pos) + this.grid.horLength;
+        } else {
+            return this.from(pos) + 1;
+        }
+    }
+
+    // EFFECT: adds the given edge to the end of this list
+    public boolean add(Edge edge) {
+        this.addEdge(edge.from.idx, edge.to.idx != edge.from.idx + 1);
+        return true;
+    }
+
+    // EFFECT: adds the edge between the cell at the given index and the cell to
+    // its right (f) or below it (t) to the end of this list
+    void addEdge(int from, boolean below) {
+        this.addCode(from << 1 | (below ? 1 : 0));
+    }
+
+    // EFFECT: adds the edge at the given position of the given list to the end
+    // of this list
+    void addFrom(EdgeList other, int pos) {
+        this.addCode(other.edges[pos]);
+    }
+
+    // EFFECT: adds the given encoded edge to the end of this list
+    void addCode(int code) {
+        if (this.size == this.edges.length) {
+            this.edges = Arrays.copyOf(this.edges, this.size * 2);
+        }
+        this.edges[this.size] = code;
+        this.size = this.size + 1;
+        this.modCount = this.modCount + 1;
+    }
+
+    // Returns the last position of the edge between the cell at the given index
+    // and the cell to its right (f) or below it (t) in this list, or -1
+    int position(int from, boolean below) {
+        int code = from << 1 | (below ? 1 : 0);
+        for (int pos = this.size - 1; pos >= 0; pos--) {
+            if (this.edges[pos] == code) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    // EFFECT: removes the edge at the given position of this list, keeping the
+    // edges after it in order, and returns it
+    public Edge remove(int pos) {
+        Edge edge = this.get(pos);
+        System.arraycopy(this.edges, pos + 1, this.edges, pos, this.size - pos - 1);
+        this.size = this.size - 1;
+        this.modCount = this.modCount + 1;
+        return edge;
+    }
+
+    // EFFECT: removes every edge from this list
+    public void clear() {
+        this.size = 0;
+        this.modCount = this.modCount + 1;
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.SplittableRandom;
+
+// Represents a generator of random mazes using eller's algorithm, which builds
+// the maze one row at a time and only keeps state for the current row, so it
+// can generate mazes far larger than memory into a MappedMaze
+class EllerGenerator extends AMazeGenerator {
+    EllerGenerator(SplittableRandom rand) {
+        super(rand);
+    }
+
+    // EFFECT: knocks down the walls of a maze of the given size in the given
+    // walls, so that there is one, non-cyclic path to any two cells
+    void generate(int horLength, int verLength, IMazeWalls walls) {
+        // The set of every cell in the current row, always below horLength
+        int[] label = new int[horLength];
+        // The representative of every set in the current row
+        int[] parent = new int[horLength];
+        // The last column of every set in the current row
+        int[] lastCol = new int[horLength];
+        // Whether any cell of every set in the current row opens below
+        boolean[] hasDown = new boolean[horLength];
+        // The label of every set in the next row
+        int[] remap = new int[horLength];
+        for (int c = 0; c < horLength; c++) {
+            label[c] = c;
+        }
+        for (int r = 0; r < verLength; r++) {
+            long rowStart = (long) r * horLength;
+            boolean lastRow = r == verLength - 1;
+            for (int l = 0; l < horLength; l++) {
+                parent[l] = l;
+            }
+            // Randomly join neighboring cells of different sets, and join them all
+            // in the last row so that the maze ends up connected
+            for (int c = 0; c < horLength - 1; c++) {
+                int one = this.find(parent, label[c]);
+                int two = this.find(parent, label[c + 1]);
+                if (one != two && (lastRow || this.rand.nextBoolean())) {
+                    parent[one] = two;
+                    walls.openEast(rowStart + c);
+                }
+            }
+            if (lastRow) {
+                break;
+            }
+            for (int c = 0; c < horLength; c++) {
+                label[c] = this.find(parent, label[c]);
+                lastCol[label[c]] = c;
+                hasDown[label[c]] = false;
+                remap[c] = -1;
+            }
+            // Randomly open cells below, making sure every set opens at least once
+            // so that no set is cut off from the rest of the maze
+            int nextLabel = 0;
+            for (int c = 0; c < horLength; c++) {
+                int set = label[c];
+                if (this.rand.nextBoolean() || (lastCol[set] == c && !hasDown[set])) {
+                    hasDown[set] = true;
+                    walls.openSouth(rowStart + c);
+                    if (remap[set] == -1) {
+                        remap[set] = nextLabel;
+                        nextLabel = nextLabel + 1;
+                    }
+                    label[c] = remap[set];
+                } else {
+                    // Cells that aren't opened from above start in their own set
+                    label[c] = -1;
+                }
+            }
+            for (int c = 0; c < horLength; c++) {
+                if (label[c] == -1) {
+                    label[c] = nextLabel;
+                    nextLabel = nextLabel + 1;
+                }
+            }
+        }
+    }
+
+    String name() {
+        return "eller";
+    }
+
+    // Finds the representative of the given set in the given parents
+    // EFFECT: points every other set on the way at its grandparent
+    int find(int[] parent, int set) {
+        while (parent[set] != set) {
+            parent[set] = parent[parent[set]];
+            set = parent[set];
+        }
+        return set;
+    }
+}
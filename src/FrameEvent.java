@@ -0,0 +1,16 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Represents the building of a scene of a maze game, recorded by Java Flight Recorder
+@Name("maze.Frame")
+@Label("Maze Frame")
+@Category("Maze")
+@Description("A scene built for a maze game")
+class FrameEvent extends jdk.jfr.Event {
+    @Label("Images Placed")
+    int images;
+    @Label("Cells Repainted")
+    int cells;
+}
@@ -0,0 +1,183 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+import javalib.worldimages.Posn;
+
+// Represents one player's game hosted by a SessionHost. Every game is only
+// touched while holding its session's lock, so the host's ticks and the
+// player's inputs never interleave, and sessions never share any state
+class GameSession {
+    // A rough upper bound on the heap a MazeWorld takes per cell, whose cells and
+    // edges are views over flat arrays. Generating takes about 60 bytes: 18 for
+    // the neighbor index, 5 for the disjoint sets, 2 for the colors and terrain,
+    // and 13 per edge for the walls, their weights and the counting sort (2 edges
+    // per cell), plus the edges in the tree and knocked down. Solving adds up to
+    // 47 (cameFrom, the cells seen, the solver's arrays and the trace, with
+    // Dijkstra's distances and heap the most), and the tree and link-cut indices
+    // another 33, which is about 140 at most, rounded up
+    static final long BYTES_PER_CELL = 160;
+    // The keys a player may send, which only play the game. Keys that export the
+    // maze or its search write files on the host, so they aren't passed on
+    static final List<String> KEYS = List.of("up", "down", "left", "right", "m", "s", "t",
+            "p", ",", ".", "=", "+", "-", "0", "i", "j", "k", "l");
+    // The most lines a player may send while a game is being made, and the most
+    // bytes of replies waiting for a player to read them, past which the player
+    // is taken to have stopped reading and is disconnected
+    static final int MAX_WAITING = 64;
+    static final int MAX_OUTPUT = 64 * 1024;
+
+    // The id of this session
+    int id;
+    // The most heap this session's game may take, in bytes
+    long memoryBudget;
+    // The game of this session, or null until the player starts one
+    MazeWorld world;
+    // Bytes received from the player that don't form a whole line yet
+    ByteBuffer input;
+    // Bytes waiting to be sent to the player
+    ByteBuffer output;
+    // Makes the game the last NEW line or restarting click asked for, or null if
+    // no game is being made. The host runs it on a worker thread, since
+    // generating a large maze would hold up every connection and the ticks of
+    // this session
+    Supplier<MazeWorld> making;
+    // The game to restart with the made game's maze, or null for a NEW line
+    MazeWorld restarting;
+    // The reply to the last NEW line or restarting click, once its game is made
+    String madeReply;
+    // Lines from the player that came while a game was being made, answered in
+    // order once it is ready
+    ArrayDeque<String> waiting;
+
+    GameSession(int id, long memoryBudget) {
+        this.id = id;
+        this.memoryBudget = memoryBudget;
+        this.input = ByteBuffer.allocate(256);
+        this.output = ByteBuffer.allocate(0);
+        this.waiting = new ArrayDeque<String>();
+    }
+
+    // Handles one line of the protocol from the player, returning the reply, or
+    // null for a NEW line or a click that restarts a finished game, whose game is
+    // left for make() to generate:
+    //   NEW <horLength> <verLength> [seed]  starts a new game
+    //   KEY <key>                           passes a gameplay key to onKeyEvent
+    //   CLICK <x> <y>                       passes a click to onMouseClicked
+    //   OPEN <cell> <cell>                  opens the wall between two cells
+    //   CLOSE <cell> <cell>                 closes the wall between two cells
+    //   STATE                               describes the game
+    //   METRICS                             reports the timings of the game
+    synchronized String handle(String line) {
+        String[] words = line.trim().split("\\s+");
+        try {
+            if (words[0].equals("NEW") && words.length >= 3) {
+                int horLength = Integer.parseInt(words[1]);
+                int verLength = Integer.parseInt(words[2]);
+                // Checks that the game fits in this session's memory budget
+                if ((long) horLength * verLength * BYTES_PER_CELL > this.memoryBudget) {
+                    return "ERR maze exceeds the session memory budget";
+                }
+                long seed;
+                if (words.length > 3) {
+                    seed = Long.parseLong(words[3]);
+                } else {
+                    seed = new SplittableRandom().nextLong();
+                }
+                this.making = () -> new MazeWorld(horLength, verLength, seed);
+                this.restarting = null;
+                return null;
+            } else if (this.world == null) {
+                return "ERR no game, send NEW first";
+            } else if (words[0].equals("KEY") && words.length == 2) {
+                if (!KEYS.contains(words[1])) {
+                    return "ERR key " + words[1] + " isn't allowed";
+                }
+                this.world.onKeyEvent(words[1]);
+                return "OK";
+            } else if (words[0].equals("CLICK") && words.length == 3) {
+                Posn posn = new Posn(Integer.parseInt(words[1]), Integer.parseInt(words[2]));
+                // The next maze of a finished game is made like the game of a NEW line
+                if (this.world.restartsOn(posn)) {
+                    int horLength = this.world.horLength;
+                    int verLength = this.world.verLength;
+                    long seed = this.world.nextSeed;
+                    String algorithm = this.world.algorithm;
+                    this.making = () -> new MazeWorld(horLength, verLength, seed, algorithm);
+                    this.restarting = this.world;
+                    return null;
+                }
+                this.world.onMouseClicked(posn);
+                return "OK";
+            } else if (words[0].equals("OPEN") && words.length == 3) {
+                boolean changed = this.world.openWall(Integer.parseInt(words[1]),
+                        Integer.parseInt(words[2]));
+                return changed ? "OK" : "OK unchanged";
+            } else if (words[0].equals("CLOSE") && words.length == 3) {
+                boolean changed = this.world.closeWall(Integer.parseInt(words[1]),
+                        Integer.parseInt(words[2]));
+                return changed ? "OK" : "OK unchanged";
+            } else if (words[0].equals("STATE")) {
+                return this.state();
+            } else if (words[0].equals("METRICS")) {
+                return "METRICS " + this.world.metrics.snapshot();
+            } else {
+                return "ERR unknown command";
+            }
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    // EFFECT: makes the game the last NEW line or restarting click asked for and
+    // swaps it in, keeping the reply to that line in madeReply. Only the swap
+    // holds this session's lock, so the old game keeps ticking while the new one
+    // is generated
+    void make() {
+        // Stays the reply if making the game fails in a way not handled below
+        this.madeReply = "ERR the game couldn't be made";
+        try {
+            MazeWorld world = this.making.get();
+            synchronized (this) {
+                if (this.restarting == null) {
+                    this.world = world;
+                    this.madeReply = "OK " + world.seed;
+                } else if (this.restarting == this.world) {
+                    this.world.restart(world);
+                    this.madeReply = "OK";
+                } else {
+                    // The game to restart failed while its next maze was made
+                    this.madeReply = "ERR no game, send NEW first";
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            this.madeReply = "ERR " + e.getMessage();
+        }
+    }
+
+    // EFFECT: drops the game of this session, such as after it failed
+    synchronized void drop() {
+        this.world = null;
+    }
+
+    // Advances the game of this session by one tick
+    synchronized void tick() {
+        if (this.world != null) {
+            this.world.onTick();
+        }
+    }
+
+    // Describes the game of this session as
+    //   STATE <started> <searching> <over> <round> <edgeRound> <cells seen> <path length>
+    String state() {
+        int path = 0;
+        if (this.world.over && this.world.correctPath != null) {
+            path = this.world.correctPath.size();
+        }
+        return "STATE " + this.world.started + " " + this.world.searching + " " + this.world.over
+                + " " + this.world.round + " " + this.world.edgeRound + " "
+                + this.world.alreadySeen.size() + " " + path;
+    }
+}
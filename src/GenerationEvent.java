@@ -0,0 +1,16 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Represents a phase of generating a maze, recorded by Java Flight Recorder
+@Name("maze.Generation")
+@Label("Maze Generation")
+@Category("Maze")
+@Description("A phase of generating a maze: fields, sort or maze")
+class GenerationEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    String phase;
+    @Label("Cells")
+    int cells;
+}
@@ -1,115 +1,208 @@
 import java.util.ArrayList;
+import java.util.List;
 
 // Represents a graph of cells 
 class Graph {
-    // All cells in this
-    ArrayList<Cell> cells;
-    // Tracks the path from one cell (odd indeces) to its neighbor (even indeces)
-    ArrayList<Cell> cameFromEdge;
-    // Cells that have already been fully processed
-    ArrayList<Cell> alreadySeen;
+    // The state of all cells in this
+    Grid grid;
+    // The index of the cell each cell was first reached from in the last search,
+    // or -1 if it wasn't reached
+    int[] cameFrom;
+    // Cells that have already been fully processed, in the order they were processed
+    CellList alreadySeen;
+    // The reachable neighbors of every cell, built once the maze is generated
+    NeighborIndex neighbors;
+    // The index of the tree of passages, built the first time a path is queried
+    TreeIndex tree;
+    // A spanning forest of the passages, built the first time a wall opens or
+    // closes and kept up to date as walls change after that
+    LinkCutTree forest;
+    // The passages that aren't in the forest, because they close a loop
+    EdgeList loops;
 
-    Graph() {
-        this.cells = new ArrayList<Cell>();
-        this.cameFromEdge = new ArrayList<Cell>();
-        this.alreadySeen = new ArrayList<Cell>();
+    // Creates the graph of every cell of a maze of the given size
+    Graph(int horLength, int verLength) {
+        this.grid = new Grid(horLength, verLength);
+        this.alreadySeen = new CellList(this.grid);
     }
 
-    // EFFECT: adds a new cell to the cells of this
-    void addCell(int horLength, int verLength, int idx) {
-        this.cells.add(new Cell(horLength, verLength, idx));
+    // EFFECT: builds the neighbor index of this from the given edges of the maze,
+    // whose open walls become the walls of this grid
+    void indexEdges(int horLength, int verLength, List<Edge> edges) {
+        if (this.neighbors == null || this.neighbors.open.length != horLength * verLength) {
+            this.neighbors = new NeighborIndex(horLength, verLength);
+        } else {
+            this.neighbors.clear();
+        }
+        this.tree = null;
+        this.forest = null;
+        if (edges instanceof EdgeList) {
+            EdgeList list = (EdgeList) edges;
+            for (int e = 0; e < list.size(); e++) {
+                this.neighbors.link(list.from(e), list.to(e));
+            }
+        } else {
+            for (Edge edge : edges) {
+                this.neighbors.link(edge.from.idx, edge.to.idx);
+            }
+        }
+        this.grid.walls = this.neighbors.open;
+    }
+
+    // EFFECT: puts every cell of this back in its first color with every wall up,
+    // keeping the arrays of this to hold another maze of the same size
+    void reset() {
+        this.grid.reset();
+        if (this.neighbors != null) {
+            this.neighbors.clear();
+        }
+        this.tree = null;
+        this.forest = null;
+        this.alreadySeen = new CellList(this.grid);
+    }
+
+    // Returns the amount of cells in this
+    int size() {
+        return this.grid.size();
     }
 
-    // Returns the cell at the given index of this cells
+    // Returns a view of the cell at the given index of this
     Cell get(int idx) {
-        return this.cells.get(idx);
+        return new Cell(this.grid, idx);
+    }
+
+    // Returns the cells on the path between the two given cells, without searching
+    ArrayList<Cell> pathBetween(Cell from, Cell to) {
+        int[] path;
+        // Once walls changed, the passages may have loops or be cut in two, which
+        // only the forest can find paths in
+        if (this.forest != null) {
+            path = this.forest.path(from.idx, to.idx);
+        } else {
+            if (this.tree == null) {
+                this.tree = new TreeIndex(this.neighbors, 0);
+            }
+            path = this.tree.path(from.idx, to.idx);
+        }
+        ArrayList<Cell> cells = new ArrayList<Cell>(path.length);
+        for (int idx : path) {
+            cells.add(this.get(idx));
+        }
+        return cells;
+    }
+
+    // EFFECT: builds the forest of the passages of this graph if it isn't built yet
+    void trackPassages() {
+        if (this.forest == null) {
+            this.loops = new EdgeList(this.grid);
+            this.forest = new LinkCutTree(this.neighbors, this.loops);
+        }
+    }
+
+    // Determines if there is a path between the two given cells
+    boolean connected(int one, int two) {
+        this.trackPassages();
+        return this.forest.connected(one, two);
+    }
+
+    // EFFECT: opens a passage between the two given neighboring cells, where one
+    // is the left or top cell, returning whether the wall between them was up
+    boolean openPassage(int one, int two) {
+        if (this.neighbors.connected(one, two)) {
+            return false;
+        }
+        this.trackPassages();
+        this.neighbors.link(one, two);
+        this.tree = null;
+        if (this.forest.connected(one, two)) {
+            this.loops.addEdge(one, two != one + 1);
+        } else {
+            this.forest.link(one, two);
+        }
+        return true;
+    }
+
+    // EFFECT: puts up the wall between the two given neighboring cells, where one
+    // is the left or top cell, returning whether there was a passage between them
+    boolean closePassage(int one, int two) {
+        if (!this.neighbors.connected(one, two)) {
+            return false;
+        }
+        this.trackPassages();
+        this.neighbors.unlink(one, two);
+        this.tree = null;
+        int loop = this.loops.position(one, two != one + 1);
+        if (loop != -1) {
+            this.loops.remove(loop);
+            return true;
+        }
+        this.forest.cut(one, two);
+        // Before the cut, every loop was within one tree, so any loop that now
+        // joins two trees rejoins the halves of the cut one
+        for (int e = this.loops.size() - 1; e >= 0; e--) {
+            int from = this.loops.from(e);
+            int to = this.loops.to(e);
+            if (!this.forest.connected(from, to)) {
+                this.loops.remove(e);
+                this.forest.link(from, to);
+                return true;
+            }
+        }
+        return true;
     }
 
     // Traverses this graph via breadth first search
-    ArrayList<Cell> bfs(Cell from, Cell to, ArrayList<Edge> edges) {
-        return searchHelp(from, to, new Queue(), edges);
+    CellList bfs(Cell from, Cell to, List<Edge> edges) {
+        return searchHelp(from, to, false, edges);
     }
 
     // Traverses this graph via depth first search
-    ArrayList<Cell> dfs(Cell from, Cell to, ArrayList<Edge> edges) {
-        return searchHelp(from, to, new Stack(), edges);
-    }
-
-    // Abstraction to traverse this graph, where worklist is the cells to be
-    // processed next, and edges are the edges of the maze that can be crossed
-    ArrayList<Cell> searchHelp(Cell from, Cell to, ICollection worklist,
-            ArrayList<Edge> edges) {
-        worklist.add(from);
-        while (!worklist.isEmpty()) {
-            Cell next = worklist.remove();
-            // If next is the final cell, add it and clear the worklist
-            if (next.equals(to)) {
-                this.alreadySeen.add(next);
-                worklist.clear();
-            }
-            // If next isn't the ending cell and it hasnt been processed
-            else if (!next.equals(to) && !alreadySeen.contains(next)) {
-                this.alreadySeen.add(next);
-                // Find its neighbors valid neighbors
-                for (Cell n : next.getNeighbors(edges, this.cells)) {
-                    worklist.add(n);
-                    this.cameFromEdge.add(next);
-                    this.cameFromEdge.add(n);
-                }
-            }
+    CellList dfs(Cell from, Cell to, List<Edge> edges) {
+        return searchHelp(from, to, true, edges);
+    }
+
+    // Traverses this graph with the given solver
+    CellList solve(ASolver solver, Cell from, Cell to) {
+        solver.search(this.neighbors, from.idx, to.idx);
+        this.alreadySeen = new CellList(this.grid, solver.expanded);
+        for (int i = 0; i < solver.expanded; i++) {
+            this.alreadySeen.addIndex(solver.order[i]);
         }
+        this.cameFrom = solver.cameFrom;
         return this.alreadySeen;
     }
 
+    // Abstraction to traverse this graph depth first (t) or breadth first (f),
+    // where edges are the edges of the maze that can be crossed
+    CellList searchHelp(Cell from, Cell to, boolean dfs, List<Edge> edges) {
+        // If this graph wasn't indexed by a generated maze, index the given edges
+        if (this.neighbors == null) {
+            this.indexEdges(from.boardLength(true), from.boardLength(false), edges);
+        }
+        return this.solve(new MazeSearch(dfs), from, to);
+    }
+
     // Traces the correct path of this graph if it wasnt manually solved
     ArrayList<Cell> reconstruct(Cell from, Cell to) {
-        Cell lookingFor = to;
-        ArrayList<Cell> correctPath = new ArrayList<Cell>();
-        correctPath.add(to);
-        // A boolean to track when we've reached the beginning cell
-        boolean atBeginning = false;
-        int idx = this.cameFromEdge.size() - 1;
-        while (!atBeginning) {
-            Cell current = this.cameFromEdge.get(idx);
-            // If current is the right one, add it to correctPath and
-            // backtrack to the neighbor current came from
-            if (current == lookingFor && this.cameFromEdge.indexOf(current) % 2 == 1) {
-                lookingFor = this.cameFromEdge.get(this.cameFromEdge.indexOf(current) - 1);
-                correctPath.add(lookingFor);
-            }
-            // If current is the beginning cell, end the loop
-            else if (current == from) {
-                correctPath.add(current);
-                atBeginning = true;
-            }
-            idx = idx - 1;
-        }
-        return correctPath;
+        return this.walkBack(from, to, this.cameFrom);
     }
 
-    // Traces the correct path of this graph if it was manually solved
-    ArrayList<Cell> reconstruct(Cell from, Cell to, ArrayList<Cell> cameFromEdge) {
+    // Abstraction to trace a path by walking back from the ending cell to the
+    // beginning cell, where cameFrom holds the index each cell was reached from
+    ArrayList<Cell> walkBack(Cell from, Cell to, int[] cameFrom) {
         Cell lookingFor = to;
         ArrayList<Cell> correctPath = new ArrayList<Cell>();
+        // If walls closed the ending cell off, there is no path
+        if (to.idx != from.idx && cameFrom[to.idx] == -1) {
+            return correctPath;
+        }
         correctPath.add(to);
-        // A boolean to track when we've reached the beginning cell
-        boolean atBeginning = false;
-        int idx = cameFromEdge.size() - 1;
-        while (!atBeginning) {
-            Cell current = cameFromEdge.get(idx);
-            // If current is the right one, add it to correctPath and
-            // backtrack to the neighbor current came from
-            if (current == lookingFor && cameFromEdge.indexOf(current) % 2 == 1) {
-                lookingFor = cameFromEdge.get(cameFromEdge.indexOf(current) - 1);
-                correctPath.add(lookingFor);
-            }
-            // If current is the beginning cell, end the loop
-            else if (current == from) {
-                correctPath.add(current);
-                atBeginning = true;
-            }
-            idx = idx - 1;
+        while (lookingFor.idx != from.idx) {
+            lookingFor = this.get(cameFrom[lookingFor.idx]);
+            correctPath.add(lookingFor);
         }
+        // The beginning cell also closes the path
+        correctPath.add(from);
         return correctPath;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+import java.awt.Color;
+import java.util.Arrays;
+
+// Represents the state of every cell of a maze in flat arrays indexed by cell,
+// with the dimensions of the maze and of its cells stored once. Cells and edges
+// are only views of a grid, created when needed
+class Grid {
+    // The colors a cell can have, by their code in state
+    static final Color[] COLORS = { Color.lightGray, Color.pink, Color.cyan, Color.magenta };
+
+    // The amount of cells in one row and in one column of the maze
+    int horLength;
+    int verLength;
+    // The dimensions of every cell, based on a 1000x600 board, and at least one
+    // pixel for mazes with more cells than the board has pixels
+    int xSize;
+    int ySize;
+    // The open walls of every cell as a mask of NeighborIndex.NORTH, EAST, SOUTH
+    // and WEST, shared with the neighbor index once the maze is generated
+    byte[] walls;
+    // The code of the color of every cell in COLORS
+    byte[] state;
+    // The kind of terrain of every cell (see Terrain), or null if every cell is
+    // plain ground
+    byte[] terrain;
+
+    // Creates the grid of a maze of the given size where every wall is up, the
+    // first cell is pink, the last cell is cyan and every other cell is gray
+    Grid(int horLength, int verLength) {
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.xSize = Math.max(1, 1000 / horLength);
+        this.ySize = Math.max(1, 600 / verLength);
+        this.walls = new byte[horLength * verLength];
+        this.state = new byte[horLength * verLength];
+        this.reset();
+    }
+
+    // EFFECT: colors the first cell pink, the last cell cyan and every other cell gray
+    void reset() {
+        Arrays.fill(this.state, (byte) 0);
+        this.state[0] = 1;
+        this.state[this.state.length - 1] = 2;
+    }
+
+    // Returns the amount of cells in this grid
+    int size() {
+        return this.horLength * this.verLength;
+    }
+
+    // Returns a center coordinate of the cell at the given index (x is true, y is false)
+    int coord(int idx, boolean x) {
+        if (x) {
+            return idx % this.horLength * this.xSize + this.xSize / 2;
+        } else {
+            return idx / this.horLength * this.ySize + this.ySize / 2;
+        }
+    }
+
+    // Returns the color of the cell at the given index, where unvisited cells
+    // show their terrain
+    Color color(int idx) {
+        if (this.state[idx] == 0 && this.terrain != null) {
+            return Terrain.COLORS[this.terrain[idx]];
+        }
+        return COLORS[this.state[idx]];
+    }
+
+    // EFFECT: changes the color of the cell at the given index to the given
+    void changeColor(int idx, Color col) {
+        for (int c = 0; c < COLORS.length; c++) {
+            if (COLORS[c].equals(col)) {
+                this.state[idx] = (byte) c;
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Cells can't be colored " + col);
+    }
+}
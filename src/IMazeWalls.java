@@ -0,0 +1,9 @@
+// Represents a destination for the walls a maze generator knocks down, where
+// cells are indexed left to right, top to bottom
+interface IMazeWalls {
+    // EFFECT: opens the wall between the cell at the given index and the cell to its right
+    void openEast(long idx);
+
+    // EFFECT: opens the wall between the cell at the given index and the cell below it
+    void openSouth(long idx);
+}
@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+// Represents a binary min-heap of the cells of a maze keyed by int priorities,
+// which also knows the slot of every cell in it. Unlike IntMinHeap, a cell is
+// in this heap at most once, and lowering its priority moves it in place, so the
+// heap never holds more cells than the maze
+class IndexedMinHeap {
+    // The cells in this heap, in heap order
+    int[] heap;
+    // The slot of every cell in heap, or -1 if it isn't in this heap
+    int[] slots;
+    // The priority of every cell, by cell index
+    int[] keys;
+    // The amount of cells in this heap
+    int size;
+
+    // Creates an empty heap for the cells of a maze of the given size
+    IndexedMinHeap(int cells) {
+        this.heap = new int[cells];
+        this.slots = new int[cells];
+        this.keys = new int[cells];
+        Arrays.fill(this.slots, -1);
+        this.size = 0;
+    }
+
+    // Returns the amount of cells this heap can hold
+    int capacity() {
+        return this.slots.length;
+    }
+
+    // Is this heap empty?
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    // Is the given cell in this heap?
+    boolean contains(int cell) {
+        return this.slots[cell] != -1;
+    }
+
+    // EFFECT: empties this heap
+    void clear() {
+        for (int s = 0; s < this.size; s++) {
+            this.slots[this.heap[s]] = -1;
+        }
+        this.size = 0;
+    }
+
+    // EFFECT: adds the given cell with the given priority to this heap, or lowers
+    // its priority to the given if it is already in this heap with a higher one
+    void offer(int cell, int key) {
+        if (this.contains(cell)) {
+            if (key < this.keys[cell]) {
+                this.keys[cell] = key;
+                this.siftUp(this.slots[cell]);
+            }
+        } else {
+            this.keys[cell] = key;
+            this.heap[this.size] = cell;
+            this.slots[cell] = this.size;
+            this.size = this.size + 1;
+            this.siftUp(this.size - 1);
+        }
+    }
+
+    // Returns the cell with the lowest priority in this heap
+    // EFFECT: removes that cell
+    int pop() {
+        int top = this.heap[0];
+        this.slots[top] = -1;
+        this.size = this.size - 1;
+        if (this.size > 0) {
+            this.heap[0] = this.heap[this.size];
+            this.slots[this.heap[0]] = 0;
+            this.siftDown(0);
+        }
+        return top;
+    }
+
+    // EFFECT: moves the cell in the given slot up until its parent's priority
+    // isn't higher
+    void siftUp(int slot) {
+        int cell = this.heap[slot];
+        int key = this.keys[cell];
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (this.keys[this.heap[parent]] <= key) {
+                break;
+            }
+            this.heap[slot] = this.heap[parent];
+            this.slots[this.heap[slot]] = slot;
+            slot = parent;
+        }
+        this.heap[slot] = cell;
+        this.slots[cell] = slot;
+    }
+
+    // EFFECT: moves the cell in the given slot down until neither child's
+    // priority is lower
+    void siftDown(int slot) {
+        int cell = this.heap[slot];
+        int key = this.keys[cell];
+        while (slot * 2 + 1 < this.size) {
+            int child = slot * 2 + 1;
+            if (child + 1 < this.size
+                    && this.keys[this.heap[child + 1]] < this.keys[this.heap[child]]) {
+                child = child + 1;
+            }
+            if (key <= this.keys[this.heap[child]]) {
+                break;
+            }
+            this.heap[slot] = this.heap[child];
+            this.slots[this.heap[slot]] = slot;
+            slot = child;
+        }
+        this.heap[slot] = cell;
+        this.slots[cell] = slot;
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Arrays;
+
+// Represents a binary min-heap of cells keyed by priority, kept in primitive
+// arrays so that pushing and popping never boxes. A cell may be pushed more
+// than once, and it is up to the user to skip the stale copies
+class IntMinHeap {
+    // The cells in this heap, in heap order
+    int[] cells;
+    // The priority of the cell in the same slot of cells
+    long[] keys;
+    // The amount of cells in this heap
+    int size;
+
+    IntMinHeap(int capacity) {
+        this.cells = new int[Math.max(capacity, 1)];
+        this.keys = new long[Math.max(capacity, 1)];
+        this.size = 0;
+    }
+
+    // Is this heap empty?
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    // EFFECT: empties this heap
+    void clear() {
+        this.size = 0;
+    }
+
+    // EFFECT: adds the given cell with the given priority to this heap
+    void push(int cell, long key) {
+        if (this.size == this.cells.length) {
+            this.cells = Arrays.copyOf(this.cells, this.size * 2);
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+        }
+        // Sift the new cell up from the bottom
+        int slot = this.size;
+        this.size = this.size + 1;
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (this.keys[parent] <= key) {
+                break;
+            }
+            this.cells[slot] = this.cells[parent];
+            this.keys[slot] = this.keys[parent];
+            slot = parent;
+        }
+        this.cells[slot] = cell;
+        this.keys[slot] = key;
+    }
+
+    // Returns the cell with the lowest priority in this heap
+    // EFFECT: removes that cell
+    int pop() {
+        int top = this.cells[0];
+        this.size = this.size - 1;
+        int cell = this.cells[this.size];
+        long key = this.keys[this.size];
+        // Sift the last cell down from the top
+        int slot = 0;
+        while (slot * 2 + 1 < this.size) {
+            int child = slot * 2 + 1;
+            if (child + 1 < this.size && this.keys[child + 1] < this.keys[child]) {
+                child = child + 1;
+            }
+            if (key <= this.keys[child]) {
+                break;
+            }
+            this.cells[slot] = this.cells[child];
+            this.keys[slot] = this.keys[child];
+            slot = child;
+        }
+        this.cells[slot] = cell;
+        this.keys[slot] = key;
+        return top;
+    }
+}
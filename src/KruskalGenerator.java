@@ -0,0 +1,126 @@
+import java.util.SplittableRandom;
+
+// Represents a generator of random mazes using kruskal's algorithm, which gives
+// every wall a random weight and knocks them down by ascending weight unless
+// they separate cells that are already linked. Every wall is materialized and
+// sorted before the first one comes down. The walls can also be listed by hand,
+// such as the walls inside one tile of a maze, and the arrays of the last maze
+// are reused by the next one of the same size
+class KruskalGenerator extends AMazeGenerator {
+    // Whether the weight of every wall is its index instead of random, so that
+    // tests get the same maze every time
+    boolean testing;
+    // The cell to the right of or below every listed wall, and whether it
+    // separates that cell from the one above (t) or to the left (f)
+    int[] to;
+    boolean[] hor;
+    // The weight of every listed wall, below bound
+    int[] weights;
+    int bound;
+    // The amount of walls listed
+    int edgeAmount;
+    // The indices of the listed walls by ascending weight, or null until sorted
+    int[] sorted;
+    // The sort ordering the walls, which keeps its arrays for the next maze
+    CountingSort sorter;
+    // The cells linked so far by the last maze generated, reused by the next
+    DisjointSet representatives;
+
+    KruskalGenerator(SplittableRandom rand) {
+        this(rand, false);
+    }
+
+    KruskalGenerator(SplittableRandom rand, boolean testing) {
+        super(rand);
+        this.testing = testing;
+        this.sorter = new CountingSort();
+    }
+
+    // EFFECT: knocks down the walls of a maze of the given size in the given
+    // walls, weighing and sorting them first unless they were already weighed
+    // and sorted for a maze of this size
+    void generate(int horLength, int verLength, IMazeWalls walls) {
+        int cells = horLength * verLength;
+        if (this.sorted == null
+                || this.edgeAmount != (horLength - 1) * verLength + horLength * (verLength - 1)) {
+            this.weigh(horLength, verLength);
+            this.sort();
+        }
+        if (this.representatives == null || this.representatives.parent.length != cells) {
+            this.representatives = new DisjointSet(cells);
+        } else {
+            this.representatives.reset();
+        }
+        this.knockDown(walls, this.representatives, horLength, cells - 1);
+        this.sorted = null;
+    }
+
+    // EFFECT: lists and weighs every wall of a maze of the given size, drawing
+    // the weights left to right, top to bottom so that the same source
+    // produces the same maze
+    void weigh(int horLength, int verLength) {
+        int cells = horLength * verLength;
+        this.clear((horLength - 1) * verLength + horLength * (verLength - 1), cells * 2);
+        for (int m = 0; m < cells; m++) {
+            if (m % horLength != 0) {
+                this.add(m, false);
+            }
+            if (m >= horLength) {
+                this.add(m, true);
+            }
+        }
+    }
+
+    // EFFECT: empties the list of walls to make room for the given amount,
+    // weighed below the given bound
+    void clear(int edgeAmount, int bound) {
+        if (this.to == null || this.to.length != edgeAmount) {
+            this.to = new int[edgeAmount];
+            this.hor = new boolean[edgeAmount];
+            this.weights = new int[edgeAmount];
+        }
+        this.bound = bound;
+        this.edgeAmount = 0;
+        this.sorted = null;
+    }
+
+    // EFFECT: lists the wall above (t) or to the left of (f) the cell at the
+    // given index, with the next weight
+    void add(int cell, boolean hor) {
+        this.to[this.edgeAmount] = cell;
+        this.hor[this.edgeAmount] = hor;
+        if (this.testing) {
+            this.weights[this.edgeAmount] = this.edgeAmount;
+        } else {
+            this.weights[this.edgeAmount] = this.rand.nextInt(this.bound);
+        }
+        this.edgeAmount = this.edgeAmount + 1;
+    }
+
+    // EFFECT: orders the listed walls by ascending weight
+    void sort() {
+        this.sorted = this.sorter.order(this.weights, this.bound);
+    }
+
+    // Returns the amount of walls knocked down
+    // EFFECT: knocks down the sorted walls in the given walls by ascending
+    // weight, unless they separate cells already linked in the given sets,
+    // until the given amount came down
+    int knockDown(IMazeWalls walls, DisjointSet representatives, int horLength, int amount) {
+        int knocked = 0;
+        for (int c = 0; c < this.edgeAmount && knocked < amount; c++) {
+            int edge = this.sorted[c];
+            int from = this.hor[edge] ? this.to[edge] - horLength : this.to[edge] - 1;
+            // If the two cells neighboring this edge are not yet linked
+            if (representatives.union(this.to[edge], from)) {
+                this.open(walls, from, this.to[edge]);
+                knocked = knocked + 1;
+            }
+        }
+        return knocked;
+    }
+
+    String name() {
+        return "kruskal";
+    }
+}
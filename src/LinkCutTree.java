@@ -0,0 +1,252 @@
+import java.util.Arrays;
+
+// Represents a spanning forest of the passages of a maze as a link-cut tree,
+// so that passages can be added to and removed from the forest, and any two
+// cells checked for a path between them, in O(log n) amortized time without
+// searching. Every tree of the forest is split into paths, each stored as a
+// splay tree ordered by depth, whose root points up to the cell above the top
+// of its path. All links are indices of cells, or -1 for none
+class LinkCutTree {
+    // The children of every cell in its splay tree
+    int[] left;
+    int[] right;
+    // The parent of every cell in its splay tree, or for the root of a splay
+    // tree, the parent of the top of its path in the forest
+    int[] up;
+    // Whether the splay tree under every cell is stored in reverse
+    boolean[] flipped;
+    // The amount of cells in the splay tree under every cell
+    int[] size;
+    // Room to walk a splay tree without recursion
+    int[] stack;
+
+    // Indexes a spanning forest of the maze with the given passages, adding every
+    // passage that closes a loop of the passages already in the forest to the
+    // given list instead
+    LinkCutTree(NeighborIndex passages, EdgeList loops) {
+        int cells = passages.degree.length;
+        this.left = new int[cells];
+        this.right = new int[cells];
+        this.up = new int[cells];
+        this.flipped = new boolean[cells];
+        this.size = new int[cells];
+        this.stack = new int[cells];
+        Arrays.fill(this.left, -1);
+        Arrays.fill(this.right, -1);
+        Arrays.fill(this.up, -1);
+        Arrays.fill(this.size, 1);
+        // Visit every tree breadth first from its lowest cell, where every cell
+        // starts out as a path of its own pointing up to its parent
+        boolean[] reached = new boolean[cells];
+        int[] queue = this.stack;
+        for (int root = 0; root < cells; root++) {
+            if (reached[root]) {
+                continue;
+            }
+            reached[root] = true;
+            int head = 0;
+            int tail = 1;
+            queue[0] = root;
+            while (head < tail) {
+                int next = queue[head];
+                head = head + 1;
+                for (int k = 0; k < passages.degree(next); k++) {
+                    int n = passages.neighbor(next, k);
+                    if (!reached[n]) {
+                        reached[n] = true;
+                        this.up[n] = next;
+                        queue[tail] = n;
+                        tail = tail + 1;
+                    } else if (n > next && this.up[next] != n) {
+                        loops.addEdge(next, n != next + 1);
+                    }
+                }
+            }
+        }
+    }
+
+    // Determines if the given cell is the root of its splay tree
+    boolean isTop(int cell) {
+        int parent = this.up[cell];
+        return parent == -1 || (this.left[parent] != cell && this.right[parent] != cell);
+    }
+
+    // EFFECT: passes the reversal of the given cell's splay tree on to its children
+    void push(int cell) {
+        if (this.flipped[cell]) {
+            int child = this.left[cell];
+            this.left[cell] = this.right[cell];
+            this.right[cell] = child;
+            if (this.left[cell] != -1) {
+                this.flipped[this.left[cell]] = !this.flipped[this.left[cell]];
+            }
+            if (this.right[cell] != -1) {
+                this.flipped[this.right[cell]] = !this.flipped[this.right[cell]];
+            }
+            this.flipped[cell] = false;
+        }
+    }
+
+    // EFFECT: recounts the cells in the splay tree under the given cell
+    void recount(int cell) {
+        int count = 1;
+        if (this.left[cell] != -1) {
+            count = count + this.size[this.left[cell]];
+        }
+        if (this.right[cell] != -1) {
+            count = count + this.size[this.right[cell]];
+        }
+        this.size[cell] = count;
+    }
+
+    // EFFECT: moves the given cell above its parent in their splay tree
+    void rotate(int cell) {
+        int parent = this.up[cell];
+        int grand = this.up[parent];
+        if (!this.isTop(parent)) {
+            if (this.left[grand] == parent) {
+                this.left[grand] = cell;
+            } else {
+                this.right[grand] = cell;
+            }
+        }
+        this.up[cell] = grand;
+        if (this.left[parent] == cell) {
+            this.left[parent] = this.right[cell];
+            if (this.right[cell] != -1) {
+                this.up[this.right[cell]] = parent;
+            }
+            this.right[cell] = parent;
+        } else {
+            this.right[parent] = this.left[cell];
+            if (this.left[cell] != -1) {
+                this.up[this.left[cell]] = parent;
+            }
+            this.left[cell] = parent;
+        }
+        this.up[parent] = cell;
+        this.recount(parent);
+        this.recount(cell);
+    }
+
+    // EFFECT: moves the given cell to the root of its splay tree
+    void splay(int cell) {
+        // Pass down the reversals from the root of the splay tree first
+        int depth = 0;
+        this.stack[0] = cell;
+        for (int c = cell; !this.isTop(c); c = this.up[c]) {
+            depth = depth + 1;
+            this.stack[depth] = this.up[c];
+        }
+        for (int d = depth; d >= 0; d--) {
+            this.push(this.stack[d]);
+        }
+        while (!this.isTop(cell)) {
+            int parent = this.up[cell];
+            if (!this.isTop(parent)) {
+                int grand = this.up[parent];
+                if ((this.left[grand] == parent) == (this.left[parent] == cell)) {
+                    this.rotate(parent);
+                } else {
+                    this.rotate(cell);
+                }
+            }
+            this.rotate(cell);
+        }
+    }
+
+    // EFFECT: makes the path from the root of the given cell's tree down to the
+    // given cell one splay tree, rooted at the given cell
+    void access(int cell) {
+        int below = -1;
+        for (int c = cell; c != -1; c = this.up[c]) {
+            this.splay(c);
+            this.right[c] = below;
+            this.recount(c);
+            below = c;
+        }
+        this.splay(cell);
+    }
+
+    // EFFECT: makes the given cell the root of its tree
+    void makeRoot(int cell) {
+        this.access(cell);
+        this.flipped[cell] = !this.flipped[cell];
+    }
+
+    // Returns the root of the tree of the given cell
+    // EFFECT: makes the path from the root to the given cell one splay tree
+    int findRoot(int cell) {
+        this.access(cell);
+        int c = cell;
+        this.push(c);
+        while (this.left[c] != -1) {
+            c = this.left[c];
+            this.push(c);
+        }
+        this.splay(c);
+        return c;
+    }
+
+    // Determines if the two given cells are in the same tree
+    boolean connected(int one, int two) {
+        return one == two || this.findRoot(one) == this.findRoot(two);
+    }
+
+    // EFFECT: adds the passage between the two given cells, which must be in
+    // different trees, to the forest
+    void link(int one, int two) {
+        if (this.connected(one, two)) {
+            throw new IllegalArgumentException("Cells " + one + " and " + two
+                    + " are already connected");
+        }
+        this.makeRoot(one);
+        this.up[one] = two;
+    }
+
+    // EFFECT: removes the passage between the two given cells from the forest
+    void cut(int one, int two) {
+        this.makeRoot(one);
+        this.access(two);
+        // The path from one to two is one passage long if one is all that's above two
+        this.push(two);
+        int above = this.left[two];
+        if (above != one || this.size[above] != 1) {
+            throw new IllegalArgumentException("No passage between cells " + one + " and " + two
+                    + " in the forest");
+        }
+        this.left[two] = -1;
+        this.up[one] = -1;
+        this.recount(two);
+    }
+
+    // Returns the cells on the path between the two given cells, which must be
+    // in the same tree, from the first to the second
+    int[] path(int from, int to) {
+        if (!this.connected(from, to)) {
+            throw new IllegalArgumentException("No path between cells " + from + " and " + to);
+        }
+        this.makeRoot(from);
+        this.access(to);
+        // The splay tree of to now holds the whole path, in order of depth
+        int[] path = new int[this.size[to]];
+        int count = 0;
+        int depth = 0;
+        int c = to;
+        while (c != -1 || depth > 0) {
+            if (c != -1) {
+                this.push(c);
+                this.stack[depth] = c;
+                depth = depth + 1;
+                c = this.left[c];
+            } else {
+                depth = depth - 1;
+                c = this.stack[depth];
+                path[count] = c;
+                count = count + 1;
+                c = this.right[c];
+            }
+        }
+        return path;
+    }
+}
@@ -0,0 +1,160 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Plays many games against a local SessionHost at once, and reports how many
+// commands the host answered, how fast, and how many games were finished
+// Usage: LoadTestClient <sessions> <horLength> <verLength> [games each] [threads] [port]
+public class LoadTestClient {
+    // The amount of commands answered, and their total round trip time in nanoseconds
+    AtomicLong commands;
+    AtomicLong nanos;
+    // The amount of games solved to the end
+    AtomicLong finished;
+    // The slowest round trip seen, in nanoseconds
+    AtomicLong slowest;
+
+    LoadTestClient() {
+        this.commands = new AtomicLong();
+        this.nanos = new AtomicLong();
+        this.finished = new AtomicLong();
+        this.slowest = new AtomicLong();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadTestClient <sessions> <horLength> <verLength> "
+                    + "[games each] [threads] [port]");
+            System.exit(2);
+        }
+        int sessions = Integer.parseInt(args[0]);
+        int horLength = Integer.parseInt(args[1]);
+        int verLength = Integer.parseInt(args[2]);
+        int games = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : 8;
+        int port = args.length > 5 ? Integer.parseInt(args[5]) : 7070;
+        new LoadTestClient().run(sessions, horLength, verLength, games, threads, port);
+    }
+
+    // EFFECT: opens the given amount of sessions split over the given amount of
+    // threads, plays the given amount of games in each, and prints a report
+    void run(int sessions, int horLength, int verLength, int games, int threads, int port)
+            throws Exception {
+        long start = System.nanoTime();
+        ArrayList<Thread> workers = new ArrayList<Thread>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    ArrayList<Player> players = new ArrayList<Player>();
+                    for (int s = first; s < sessions; s += threads) {
+                        players.add(new Player(port));
+                    }
+                    this.playAll(players, horLength, verLength, games);
+                } catch (IOException e) {
+                    System.err.println("Session failed: " + e);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long commands = this.commands.get();
+        System.out.printf("%d sessions, %d games finished in %.2f s%n", sessions,
+                this.finished.get(), seconds);
+        System.out.printf("%d commands, %.0f commands/s, mean %.3f ms, slowest %.3f ms%n",
+                commands, commands / seconds, this.nanos.get() / 1e6 / Math.max(1, commands),
+                this.slowest.get() / 1e6);
+    }
+
+    // EFFECT: plays the given amount of games in every given session, taking
+    // turns between the sessions, then closes them
+    void playAll(ArrayList<Player> players, int horLength, int verLength, int games)
+            throws IOException {
+        for (Player player : players) {
+            this.send(player, "NEW " + horLength + " " + verLength);
+        }
+        // The sessions still playing
+        ArrayList<Player> playing = new ArrayList<Player>(players);
+        while (!playing.isEmpty()) {
+            ArrayList<Player> next = new ArrayList<Player>();
+            for (Player player : playing) {
+                String[] state = this.send(player, "STATE").split(" ");
+                boolean started = state[1].equals("true");
+                boolean searching = state[2].equals("true");
+                boolean over = state[3].equals("true");
+                if (over) {
+                    this.finished.incrementAndGet();
+                    player.games = player.games + 1;
+                    if (player.games < games) {
+                        // Clicking the board of a finished game starts a new one
+                        this.send(player, "CLICK 500 300");
+                        next.add(player);
+                    }
+                } else {
+                    if (started && !searching) {
+                        // Solve with BFS
+                        this.send(player, "CLICK 1160 230");
+                    }
+                    next.add(player);
+                }
+            }
+            playing = next;
+        }
+        for (Player player : players) {
+            player.close();
+        }
+    }
+
+    // Sends the given command to the host over the given session, and returns its reply
+    String send(Player player, String command) throws IOException {
+        long start = System.nanoTime();
+        String reply = player.send(command);
+        long time = System.nanoTime() - start;
+        this.commands.incrementAndGet();
+        this.nanos.addAndGet(time);
+        this.slowest.accumulateAndGet(time, Math::max);
+        if (reply == null || reply.startsWith("ERR")) {
+            throw new IOException("Host replied " + reply + " to " + command);
+        }
+        return reply;
+    }
+}
+
+// Represents one connection to a SessionHost
+class Player {
+    Socket socket;
+    PrintWriter out;
+    BufferedReader in;
+    // The amount of games finished in this session
+    int games;
+
+    Player(int port) throws IOException {
+        this.socket = new Socket("127.0.0.1", port);
+        this.socket.setTcpNoDelay(true);
+        this.out = new PrintWriter(this.socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        this.in = new BufferedReader(
+                new InputStreamReader(this.socket.getInputStream(), StandardCharsets.UTF_8));
+        this.games = 0;
+    }
+
+    // Sends the given command and waits for its reply
+    String send(String command) throws IOException {
+        this.out.println(command);
+        return this.in.readLine();
+    }
+
+    // EFFECT: ends this session
+    void close() throws IOException {
+        this.out.println("QUIT");
+        this.socket.close();
+    }
+}
@@ -0,0 +1,100 @@
+import java.util.ArrayList;
+
+// Represents the path of a player solving a maze by hand, from the beginning
+// cell to the cell they are on. Since a maze has exactly one path between any
+// two cells, stepping back onto the previous cell of the path backtracks, and
+// any other step extends the path, so every move takes constant time. Once
+// walls opened loops into the maze, stepping onto any cell already on the path
+// backtracks to it, so the path never crosses itself. Reaching the goal only
+// solves the maze while the path starts from the beginning cell
+class ManualPath {
+    // The indices of the cells on the path, from the beginning cell, or from the
+    // cell past a wall that closed and cut the player off from it
+    int[] cells;
+    // The amount of cells on the path
+    int depth;
+    // The position of every cell on the path plus one, or 0 if it isn't on it
+    int[] position;
+    // The index of the cell the player starts from and the cell they are trying
+    // to reach
+    int start;
+    int goal;
+    // Whether or not the player has reached the goal
+    boolean reachedGoal;
+
+    // Creates a path in a maze of the given size that starts and ends at the
+    // given beginning cell
+    ManualPath(int size, int start, int goal) {
+        this.cells = new int[size];
+        this.cells[0] = start;
+        this.depth = 1;
+        this.position = new int[size];
+        this.position[start] = 1;
+        this.start = start;
+        this.goal = goal;
+        this.reachedGoal = start == goal;
+    }
+
+    // Returns the index of the cell the player is on
+    int current() {
+        return this.cells[this.depth - 1];
+    }
+
+    // EFFECT: moves the player onto the given cell, which must be open to the
+    // cell they are on, backtracking if it is the previous cell of the path
+    void move(int next) {
+        if (this.position[next] != 0) {
+            while (this.depth > this.position[next]) {
+                this.depth = this.depth - 1;
+                this.position[this.cells[this.depth]] = 0;
+            }
+        } else {
+            this.cells[this.depth] = next;
+            this.depth = this.depth + 1;
+            this.position[next] = this.depth;
+        }
+        if (next == this.goal && this.rooted()) {
+            this.reachedGoal = true;
+        }
+    }
+
+    // Determines if the path starts from the beginning cell, which it doesn't
+    // while a closed wall cuts the player off from it
+    boolean rooted() {
+        return this.cells[0] == this.start;
+    }
+
+    // Determines if the path steps between the two given cells
+    boolean crosses(int one, int two) {
+        return this.position[one] != 0 && this.position[two] != 0
+                && Math.abs(this.position[one] - this.position[two]) == 1;
+    }
+
+    // EFFECT: replaces the path with the given cells, from the beginning cell, or
+    // the cell past a wall that cut the player off from it, to the cell the
+    // player is on, such as after a wall on it closed
+    void reroute(int[] path) {
+        for (int c = 0; c < this.depth; c++) {
+            this.position[this.cells[c]] = 0;
+        }
+        for (int c = 0; c < path.length; c++) {
+            this.cells[c] = path[c];
+            this.position[path[c]] = c + 1;
+        }
+        this.depth = path.length;
+        if (this.current() == this.goal && this.rooted()) {
+            this.reachedGoal = true;
+        }
+    }
+
+    // Returns the cells of the path in the given board, from the cell the player
+    // is on back to the beginning cell, which also closes the path
+    ArrayList<Cell> path(Graph board) {
+        ArrayList<Cell> path = new ArrayList<Cell>(this.depth + 1);
+        for (int c = this.depth - 1; c >= 0; c--) {
+            path.add(board.get(this.cells[c]));
+        }
+        path.add(board.get(this.cells[0]));
+        return path;
+    }
+}
@@ -0,0 +1,189 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+// Represents a maze whose walls live in a memory-mapped file instead of on the
+// heap. The file starts with a header of HEADER_BYTES bytes:
+//   the magic bytes "MAZE", the format VERSION (int), the horLength (int),
+//   the verLength (int) and the seed the maze was generated from (long)
+// followed by the walls at 2 bits per cell: whether the cell is open to its
+// right, and whether it is open below. Four cells share a byte, in the order
+// of their indices, starting from the lowest bits
+class MappedMaze implements IMazeWalls, AutoCloseable {
+    // The bytes every maze file starts with
+    static final int MAGIC = 0x4D415A45;
+    // The version of the format this reads and writes
+    static final int VERSION = 1;
+    // The size of the header before the walls
+    static final int HEADER_BYTES = 24;
+    // The bits of a cell's walls
+    static final int EAST_OPEN = 1;
+    static final int SOUTH_OPEN = 2;
+    // The walls are mapped in segments of 2^SEGMENT_BITS bytes, since a single
+    // mapping can't be larger than 2GB
+    static final int SEGMENT_BITS = 30;
+
+    // The amount of cells in one row of this maze
+    int horLength;
+    // The amount of cells in one column of this maze
+    int verLength;
+    // The amount of cells in this maze
+    long size;
+    // The seed this maze was generated from
+    long seed;
+    // The file holding the walls of this maze
+    FileChannel channel;
+    // The mapped segments of the walls in the file
+    MappedByteBuffer[] segments;
+
+    // Creates a file in the given place for a maze of the given size generated
+    // from the given seed, where every wall is up
+    MappedMaze(Path file, int horLength, int verLength, long seed) throws IOException {
+        // Checks that both parameters are larger than one
+        if (horLength < 2 || verLength < 2) {
+            throw new IllegalArgumentException("Maze must be at least 2x2");
+        }
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.size = (long) horLength * verLength;
+        this.seed = seed;
+        RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw");
+        // Start from a file of zeros, meaning every wall is up
+        raf.setLength(0);
+        raf.setLength(HEADER_BYTES + this.wallBytes());
+        this.channel = raf.getChannel();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(horLength).putInt(verLength).putLong(seed);
+        header.flip();
+        try {
+            this.channel.write(header, 0);
+            this.map(FileChannel.MapMode.READ_WRITE);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    // Opens the maze already written to the given file, without copying its walls.
+    // Throws IOException if the file isn't a maze in a format this can read
+    MappedMaze(Path file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r");
+        this.channel = raf.getChannel();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (raf.length() < HEADER_BYTES) {
+            raf.close();
+            throw new IOException("Not a maze file: " + file);
+        }
+        this.channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            raf.close();
+            throw new IOException("Not a maze file: " + file);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            raf.close();
+            throw new IOException("Unsupported maze file version " + version);
+        }
+        this.horLength = header.getInt();
+        this.verLength = header.getInt();
+        this.size = (long) this.horLength * this.verLength;
+        this.seed = header.getLong();
+        if (this.horLength < 2 || this.verLength < 2) {
+            raf.close();
+            throw new IOException("Maze file " + file + " has invalid dimensions "
+                    + this.horLength + "x" + this.verLength);
+        }
+        if (raf.length() < HEADER_BYTES + this.wallBytes()) {
+            raf.close();
+            throw new IOException("Maze file is too small for a "
+                    + this.horLength + "x" + this.verLength + " maze");
+        }
+        try {
+            this.map(FileChannel.MapMode.READ_ONLY);
+        } catch (IOException | RuntimeException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    // Returns the amount of bytes holding the walls of this maze
+    long wallBytes() {
+        return (this.size + 3) / 4;
+    }
+
+    // EFFECT: maps the walls of this maze's file in the given mode
+    void map(FileChannel.MapMode mode) throws IOException {
+        long bytes = this.wallBytes();
+        int segmentCount = (int) ((bytes + (1L << SEGMENT_BITS) - 1) >>> SEGMENT_BITS);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            long start = (long) s << SEGMENT_BITS;
+            this.segments[s] = this.channel.map(mode, HEADER_BYTES + start,
+                    Math.min(1L << SEGMENT_BITS, bytes - start));
+        }
+    }
+
+    // Returns the byte holding the walls of the four cells starting at 4 * pos
+    byte packed(long pos) {
+        return this.segments[(int) (pos >>> SEGMENT_BITS)]
+                .get((int) (pos & ((1L << SEGMENT_BITS) - 1)));
+    }
+
+    // EFFECT: replaces the byte holding the walls of the four cells starting at
+    // 4 * pos with the given
+    void putPacked(long pos, byte packed) {
+        this.segments[(int) (pos >>> SEGMENT_BITS)]
+                .put((int) (pos & ((1L << SEGMENT_BITS) - 1)), packed);
+    }
+
+    // Returns the wall bits of the cell at the given index
+    int walls(long idx) {
+        return this.packed(idx >>> 2) >>> ((idx & 3) * 2) & 3;
+    }
+
+    // EFFECT: sets the given wall bits of the cell at the given index
+    void setWalls(long idx, int bits) {
+        long pos = idx >>> 2;
+        this.putPacked(pos, (byte) (this.packed(pos) | bits << ((idx & 3) * 2)));
+    }
+
+    // EFFECT: opens the wall between the cell at the given index and the cell to its right
+    public void openEast(long idx) {
+        this.setWalls(idx, EAST_OPEN);
+    }
+
+    // EFFECT: opens the wall between the cell at the given index and the cell below it
+    public void openSouth(long idx) {
+        this.setWalls(idx, SOUTH_OPEN);
+    }
+
+    // Determines if the wall on the given side (a NeighborIndex direction) of the
+    // cell at the given index is open
+    boolean isOpen(long idx, byte dir) {
+        if (dir == NeighborIndex.EAST) {
+            return (this.walls(idx) & EAST_OPEN) != 0;
+        } else if (dir == NeighborIndex.SOUTH) {
+            return (this.walls(idx) & SOUTH_OPEN) != 0;
+        } else if (dir == NeighborIndex.WEST) {
+            return idx % this.horLength != 0 && (this.walls(idx - 1) & EAST_OPEN) != 0;
+        } else {
+            return idx >= this.horLength && (this.walls(idx - this.horLength) & SOUTH_OPEN) != 0;
+        }
+    }
+
+    // EFFECT: writes any changes to the walls back to the file
+    void flush() {
+        for (MappedByteBuffer segment : this.segments) {
+            segment.force();
+        }
+    }
+
+    // EFFECT: closes the file of this maze
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,42 @@
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+// Generates a maze into a memory-mapped file with eller's algorithm, then solves
+// it by reading the file, so the maze can be far larger than the heap
+// Usage: MappedMazeBatch <file> <horLength> <verLength> [seed]
+public class MappedMazeBatch {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: MappedMazeBatch <file> <horLength> <verLength> [seed]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int horLength = Integer.parseInt(args[1]);
+        int verLength = Integer.parseInt(args[2]);
+        long seed;
+        if (args.length > 3) {
+            seed = Long.parseLong(args[3]);
+        } else {
+            seed = new SplittableRandom().nextLong();
+        }
+
+        long start = System.nanoTime();
+        try (MappedMaze maze = new MappedMaze(file, horLength, verLength, seed)) {
+            new EllerGenerator(new SplittableRandom(seed)).generate(horLength, verLength, maze);
+            maze.flush();
+        }
+        long generated = System.nanoTime();
+        WallFollower solver = new WallFollower();
+        long[] path;
+        try (MappedMaze maze = new MappedMaze(file)) {
+            path = solver.solve(maze);
+        }
+        long solved = System.nanoTime();
+
+        System.out.printf("%dx%d maze (%d cells) in %s%n", horLength, verLength,
+                (long) horLength * verLength, file);
+        System.out.printf("generation: %.1f ms, search: %.1f ms%n", (generated - start) / 1e6,
+                (solved - generated) / 1e6);
+        System.out.printf("moves: %d, path length: %d%n", solver.steps, path.length);
+    }
+}
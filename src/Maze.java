@@ -0,0 +1,61 @@
+// Represents a generated maze without any of the game's rendering state, so
+// that it can be generated and solved without a display
+class Maze implements IMazeWalls {
+    // The amount of cells in one row of this maze
+    int horLength;
+    // The amount of cells in one column of this maze
+    int verLength;
+    // The open passages between the cells of this maze
+    NeighborIndex passages;
+    // The seed this maze was generated from
+    long seed;
+    // The index of the tree of passages, built the first time a path is queried
+    TreeIndex tree;
+
+    // Creates a maze of the given size where every wall is up
+    Maze(int horLength, int verLength) {
+        // Checks that both parameters are larger than one
+        if (horLength < 2 || verLength < 2) {
+            throw new IllegalArgumentException("Maze must be at least 2x2");
+        }
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.passages = new NeighborIndex(horLength, verLength);
+    }
+
+    // Returns the amount of cells in this maze
+    int size() {
+        return this.horLength * this.verLength;
+    }
+
+    // Returns the index of the last (bottom right) cell of this maze
+    int last() {
+        return this.size() - 1;
+    }
+
+    // Returns the index of the tree of passages of this maze, rooted at the first cell
+    // EFFECT: builds the index if it isn't built yet
+    TreeIndex tree() {
+        if (this.tree == null) {
+            this.tree = new TreeIndex(this.passages, 0);
+        }
+        return this.tree;
+    }
+
+    // Returns the cells on the path between the two cells at the given indices
+    int[] path(int from, int to) {
+        return this.tree().path(from, to);
+    }
+
+    // EFFECT: opens the passage between the cell at the given index and the cell to its right
+    public void openEast(long idx) {
+        this.passages.link((int) idx, (int) idx + 1);
+        this.tree = null;
+    }
+
+    // EFFECT: opens the passage between the cell at the given index and the cell below it
+    public void openSouth(long idx) {
+        this.passages.link((int) idx, (int) idx + this.horLength);
+        this.tree = null;
+    }
+}
@@ -0,0 +1,75 @@
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+// Generates and analyzes many mazes in parallel without a display, writing the
+// statistics of every maze as CSV and a summary to standard error
+// Usage: MazeAnalytics <count> <horLength> <verLength> [seed]
+//     [kruskal|wilson|backtracker|eller] [file]
+public class MazeAnalytics {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: MazeAnalytics <count> <horLength> <verLength> [seed] "
+                    + "[kruskal|wilson|backtracker|eller] [file]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        int horLength = Integer.parseInt(args[1]);
+        int verLength = Integer.parseInt(args[2]);
+        if (horLength < 2 || verLength < 2) {
+            throw new IllegalArgumentException("Maze must be at least 2x2");
+        }
+        long seed;
+        if (args.length > 3) {
+            seed = Long.parseLong(args[3]);
+        } else {
+            seed = new Random().nextLong();
+        }
+        String algorithm = args.length > 4 ? args[4] : "kruskal";
+        // Checks that the algorithm exists before starting the tasks
+        new MazeGenerator(new SplittableRandom(seed), algorithm);
+
+        // Draw every maze's seed up front, so the mazes don't depend on the threads
+        long[] seeds = new long[count];
+        SplittableRandom rand = new SplittableRandom(seed);
+        for (int i = 0; i < count; i++) {
+            seeds[i] = rand.nextLong();
+        }
+        MazeStats[] results = new MazeStats[count];
+        long start = System.nanoTime();
+        ForkJoinPool.commonPool().invoke(new AnalyticsTask(horLength, verLength, algorithm,
+                seeds, results, 0, count));
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Writer out;
+        if (args.length > 5) {
+            out = Files.newBufferedWriter(Path.of(args[5]));
+        } else {
+            out = new BufferedWriter(new OutputStreamWriter(System.out));
+        }
+        double diameter = 0;
+        double deadEnds = 0;
+        double difficulty = 0;
+        try (Writer csv = out) {
+            csv.write(MazeStats.HEADER);
+            csv.write('\n');
+            for (MazeStats stats : results) {
+                csv.write(stats.row());
+                csv.write('\n');
+                diameter = diameter + stats.diameter;
+                deadEnds = deadEnds + stats.deadEnds;
+                difficulty = difficulty + stats.difficulty;
+            }
+        }
+        System.err.printf("%d mazes of %dx%d generated with %s and analyzed on %d threads "
+                + "in %.1f s (%.0f mazes/min)%n", count, horLength, verLength, algorithm,
+                ForkJoinPool.getCommonPoolParallelism(), seconds, count / seconds * 60);
+        System.err.printf("average diameter: %.1f, dead ends: %.1f, difficulty: %.3f%n",
+                diameter / count, deadEnds / count, difficulty / count);
+    }
+}
@@ -0,0 +1,119 @@
+// Represents the analysis of the spanning tree of a generated maze, which
+// computes its statistics in a few linear passes over the cells in breadth
+// first order from the first cell, without recursion. The arrays of one
+// analysis are reused by the next analysis of a maze of the same size
+class MazeAnalyzer {
+    // The cells in breadth first order from the first cell
+    int[] order;
+    // The cell every cell was reached from, or -1 for the first cell
+    int[] parent;
+    // The amount of passages on the longest path down from every cell, away
+    // from the first cell
+    int[] height;
+    // Whether every cell is on the path from the first to the last cell
+    boolean[] onPath;
+
+    // Returns the statistics of the given maze, from its first to its last cell
+    MazeStats analyze(Maze maze) {
+        MazeStats stats = this.analyze(maze.passages, 0, maze.last());
+        stats.seed = maze.seed;
+        return stats;
+    }
+
+    // Returns the statistics of the maze with the given passages, which must be a
+    // spanning tree, for a walk from the given cell to the given cell
+    MazeStats analyze(NeighborIndex passages, int from, int to) {
+        int size = passages.degree.length;
+        if (this.order == null || this.order.length != size) {
+            this.order = new int[size];
+            this.parent = new int[size];
+            this.height = new int[size];
+            this.onPath = new boolean[size];
+        }
+        MazeStats stats = new MazeStats();
+        stats.horLength = passages.horLength;
+        stats.verLength = size / passages.horLength;
+
+        // Order the cells breadth first, so every parent comes before its children
+        int passageEnds = 0;
+        this.order[0] = from;
+        this.parent[from] = -1;
+        int tail = 1;
+        for (int head = 0; head < tail; head++) {
+            int next = this.order[head];
+            passageEnds = passageEnds + passages.degree(next);
+            for (int k = 0; k < passages.degree(next); k++) {
+                int n = passages.neighbor(next, k);
+                if (n != this.parent[next]) {
+                    // Only a tree reaches every cell once without revisiting its parent
+                    if (tail == size) {
+                        throw new IllegalArgumentException("Maze has a cycle");
+                    }
+                    this.parent[n] = next;
+                    this.order[tail] = n;
+                    tail = tail + 1;
+                }
+            }
+        }
+        if (tail != size || passageEnds != 2 * (size - 1)) {
+            throw new IllegalArgumentException("Maze isn't a spanning tree");
+        }
+
+        // Compute the height of every cell from its children, bottom up, where the
+        // longest path through a cell joins its two tallest children
+        int internal = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            int cell = this.order[i];
+            int tallest = 0;
+            int second = 0;
+            int children = 0;
+            for (int k = 0; k < passages.degree(cell); k++) {
+                int n = passages.neighbor(cell, k);
+                if (n != this.parent[cell]) {
+                    children = children + 1;
+                    int down = this.height[n] + 1;
+                    if (down > tallest) {
+                        second = tallest;
+                        tallest = down;
+                    } else if (down > second) {
+                        second = down;
+                    }
+                }
+            }
+            this.height[cell] = tallest;
+            stats.diameter = Math.max(stats.diameter, tallest + second);
+            if (children > 0) {
+                internal = internal + 1;
+            }
+            if (passages.degree(cell) == 1) {
+                stats.deadEnds = stats.deadEnds + 1;
+            }
+        }
+        stats.branching = (double) (size - 1) / Math.max(1, internal);
+
+        // Mark the path from the last cell back to the first
+        for (int c = to; c != -1; c = this.parent[c]) {
+            this.onPath[c] = true;
+            stats.pathLength = stats.pathLength + 1;
+        }
+        stats.pathRatio = (double) stats.pathLength / size;
+
+        // Every child off the path of a cell before the last cell is a wrong turn,
+        // as deep as its height plus the passage into it
+        long wrongDepth = 0;
+        for (int c = this.parent[to]; c != -1; c = this.parent[c]) {
+            for (int k = 0; k < passages.degree(c); k++) {
+                int n = passages.neighbor(c, k);
+                if (n != this.parent[c] && !this.onPath[n]) {
+                    stats.decisions = stats.decisions + 1;
+                    wrongDepth = wrongDepth + this.height[n] + 1;
+                }
+            }
+        }
+        stats.difficulty = (double) wrongDepth / stats.pathLength;
+        for (int c = to; c != -1; c = this.parent[c]) {
+            this.onPath[c] = false;
+        }
+        return stats;
+    }
+}
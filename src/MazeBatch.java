@@ -0,0 +1,101 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+// Generates and solves many mazes without a display, reporting throughput
+// Usage: MazeBatch <count> <horLength> <verLength> [bfs|dfs|astar|bidi|dijkstra] [seed]
+//     [kruskal|parallel|wilson|backtracker|eller]
+public class MazeBatch {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: MazeBatch <count> <horLength> <verLength> "
+                    + "[bfs|dfs|astar|bidi|dijkstra] [seed] "
+                    + "[kruskal|parallel|wilson|backtracker|eller]");
+            System.exit(2);
+        }
+        int count = Integer.parseInt(args[0]);
+        int horLength = Integer.parseInt(args[1]);
+        int verLength = Integer.parseInt(args[2]);
+        String name = args.length > 3 ? args[3] : "bfs";
+        // Dijkstra's algorithm solves mazes covered with terrain
+        byte[] terrain = null;
+        if (name.equals("dijkstra")) {
+            terrain = new byte[horLength * verLength];
+        }
+        ASolver solver = ASolver.named(name, terrain);
+        long seed;
+        if (args.length > 4) {
+            seed = Long.parseLong(args[4]);
+        } else {
+            seed = new Random().nextLong();
+        }
+        String algorithm = args.length > 5 ? args[5] : "kruskal";
+        boolean parallel = algorithm.equals("parallel");
+
+        MazeGenerator generator = new MazeGenerator(new SplittableRandom(seed),
+                parallel ? "kruskal" : algorithm);
+        Terrain terrainGenerator = new Terrain(new SplittableRandom(seed).split());
+        ParallelMazeGenerator parallelGenerator = new ParallelMazeGenerator(
+                ForkJoinPool.commonPool(), new SplittableRandom(seed), 256);
+        long expanded = 0;
+        long pathCells = 0;
+        long generating = 0;
+        long solving = 0;
+        MazeBatch.resetPeakHeap();
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            Maze maze;
+            if (parallel) {
+                maze = parallelGenerator.generate(horLength, verLength);
+            } else {
+                maze = generator.generate(horLength, verLength);
+            }
+            if (terrain != null) {
+                terrainGenerator.lay(terrain, horLength);
+            }
+            long generated = System.nanoTime();
+            expanded = expanded + solver.search(maze.passages, 0, maze.last());
+            pathCells = pathCells + solver.path(0, maze.last()).length;
+            long solved = System.nanoTime();
+            generating = generating + generated - start;
+            solving = solving + solved - generated;
+        }
+
+        double seconds = (generating + solving) / 1e9;
+        long cells = (long) count * horLength * verLength;
+        System.out.printf("%d mazes of %dx%d generated with %s and solved with %s%n", count,
+                horLength, verLength, parallel ? "parallel kruskal" : algorithm, solver.name());
+        System.out.printf("generation: %.1f ms, search: %.1f ms%n", generating / 1e6,
+                solving / 1e6);
+        System.out.printf("throughput: %.1f mazes/s, %.0f cells/s%n", count / seconds,
+                cells / seconds);
+        System.out.printf("average cells expanded: %.1f, average path length: %.1f%n",
+                (double) expanded / count, (double) pathCells / count);
+        System.out.printf("peak heap: %.1f MB%n", MazeBatch.peakHeap() / 1048576.0);
+    }
+
+    // EFFECT: starts measuring the peak heap use from the current use
+    static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    // Returns the most bytes the heap has used since the last reset, as the sum
+    // of the peaks of its pools
+    static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak = peak + pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
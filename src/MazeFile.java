@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Represents saving and loading generated mazes in the MappedMaze file format,
+// so that a maze can be reloaded instead of regenerated
+class MazeFile {
+    // EFFECT: writes the given maze to the given file
+    void write(Path file, Maze maze) throws IOException {
+        try (MappedMaze out = new MappedMaze(file, maze.horLength, maze.verLength, maze.seed)) {
+            NeighborIndex passages = maze.passages;
+            // Pack the open walls of four cells into every byte
+            for (long pos = 0; pos < out.wallBytes(); pos++) {
+                int packed = 0;
+                for (int j = 0; j < 4 && pos * 4 + j < out.size; j++) {
+                    int idx = (int) (pos * 4 + j);
+                    if (passages.isOpen(idx, NeighborIndex.EAST)) {
+                        packed = packed | MappedMaze.EAST_OPEN << (j * 2);
+                    }
+                    if (passages.isOpen(idx, NeighborIndex.SOUTH)) {
+                        packed = packed | MappedMaze.SOUTH_OPEN << (j * 2);
+                    }
+                }
+                out.putPacked(pos, (byte) packed);
+            }
+            out.flush();
+        }
+    }
+
+    // EFFECT: writes the maze of the given game to the given file. Once walls of
+    // the game opened or closed, only the spanning tree of its passages is
+    // written, without the passages that close loops, since every reader of the
+    // format expects a tree
+    void write(Path file, MazeWorld world) throws IOException {
+        int size = world.horLength * world.verLength;
+        // The walls of every cell that close loops, as a mask of
+        // NeighborIndex.EAST and NeighborIndex.SOUTH
+        byte[] loops = new byte[size];
+        Graph board = world.board;
+        if (board.forest != null) {
+            for (int e = 0; e < board.loops.size(); e++) {
+                loops[board.loops.from(e)] |= board.loops.to(e) == board.loops.from(e) + 1
+                        ? NeighborIndex.EAST : NeighborIndex.SOUTH;
+            }
+            if (world.edgesInTree.size() - board.loops.size() != size - 1) {
+                throw new IllegalArgumentException("Maze has cells cut off by closed walls "
+                        + "and can't be saved");
+            }
+        }
+        try (MappedMaze out = new MappedMaze(file, world.horLength, world.verLength,
+                world.seed)) {
+            for (Edge edge : world.edgesInTree) {
+                byte side = edge.to.idx == edge.from.idx + 1
+                        ? NeighborIndex.EAST : NeighborIndex.SOUTH;
+                if ((loops[edge.from.idx] & side) != 0) {
+                    continue;
+                }
+                if (side == NeighborIndex.EAST) {
+                    out.openEast(edge.from.idx);
+                } else {
+                    out.openSouth(edge.from.idx);
+                }
+            }
+            out.flush();
+        }
+    }
+
+    // Reads the maze in the given file onto the heap, checking that its passages
+    // form a spanning tree of its cells, since solving and indexing the maze
+    // rely on there being exactly one path between any two cells. Throws
+    // IOException for any file that isn't such a maze
+    Maze readMaze(Path file) throws IOException {
+        try (MappedMaze in = new MappedMaze(file)) {
+            // Checks that the neighbor index of the maze fits in an array
+            if (in.size > Integer.MAX_VALUE / 4) {
+                throw new IOException("Maze is too large to load, "
+                        + "solve it as a MappedMaze instead");
+            }
+            Maze maze = new Maze(in.horLength, in.verLength);
+            maze.seed = in.seed;
+            int horLength = in.horLength;
+            DisjointSet linked = new DisjointSet(maze.size());
+            int passages = 0;
+            // Link cells in the same order MazeWorld.makeFields creates edges
+            for (int m = 0; m < maze.size(); m++) {
+                if (m % horLength != 0 && in.isOpen(m, NeighborIndex.WEST)) {
+                    this.checkLoop(linked, m - 1, m, file);
+                    maze.passages.link(m - 1, m);
+                    passages = passages + 1;
+                }
+                if (m >= horLength && in.isOpen(m, NeighborIndex.NORTH)) {
+                    this.checkLoop(linked, m - horLength, m, file);
+                    maze.passages.link(m - horLength, m);
+                    passages = passages + 1;
+                }
+            }
+            // Without loops, a maze is connected when it has one passage less
+            // than it has cells, so that its degrees sum to 2(n - 1)
+            if (passages != maze.size() - 1) {
+                throw new IOException("Maze file " + file + " has " + passages
+                        + " passages instead of " + (maze.size() - 1)
+                        + ", so some cells can't be reached");
+            }
+            return maze;
+        }
+    }
+
+    // EFFECT: joins the two given cells in the given sets of linked cells,
+    // throwing if they were already linked, since the passage would close a loop
+    void checkLoop(DisjointSet linked, int one, int two, Path file) throws IOException {
+        if (!linked.union(one, two)) {
+            throw new IOException("Maze file " + file + " has a loop through cells " + one
+                    + " and " + two);
+        }
+    }
+
+    // Reads the maze in the given file into a new game
+    MazeWorld readWorld(Path file) throws IOException {
+        return new MazeWorld(this.readMaze(file));
+    }
+}
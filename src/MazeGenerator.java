@@ -0,0 +1,36 @@
+import java.util.SplittableRandom;
+
+// Represents a headless generator of random mazes using any of the maze
+// generation algorithms, kruskal's algorithm by default
+class MazeGenerator {
+    // The source of the seed of every maze this generates
+    SplittableRandom rand;
+    // The name of the algorithm generating the mazes, as AMazeGenerator.named takes
+    String algorithm;
+
+    MazeGenerator(SplittableRandom rand) {
+        this(rand, "kruskal");
+    }
+
+    MazeGenerator(SplittableRandom rand, String algorithm) {
+        // Checks that the algorithm exists
+        AMazeGenerator.named(algorithm, rand);
+        this.rand = rand;
+        this.algorithm = algorithm;
+    }
+
+    // Generates a maze of the given size with one, non-cyclic path to any two cells
+    Maze generate(int horLength, int verLength) {
+        return this.generate(horLength, verLength, this.rand.nextLong());
+    }
+
+    // Generates the maze of the given size that the given seed produces, which is
+    // the same maze a MazeWorld with that seed and algorithm produces
+    Maze generate(int horLength, int verLength, long seed) {
+        Maze maze = new Maze(horLength, verLength);
+        maze.seed = seed;
+        AMazeGenerator.named(this.algorithm, new SplittableRandom(seed))
+                .generate(horLength, verLength, maze);
+        return maze;
+    }
+}
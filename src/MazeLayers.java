@@ -0,0 +1,322 @@
+// Represents the pre-rendered layers of the part of a maze shown through a
+// viewport, so that a frame only repaints what changed since the last frame
+// instead of every cell and wall. Only the cells and walls in the viewport are
+// painted, and when it is zoomed out past one pixel per cell, every pixel shows
+// the most important color of the block of cells under it
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+import javalib.impworld.WorldScene;
+import javalib.worldimages.ComputedPixelImage;
+
+class MazeLayers {
+    // The color of erased pixels on the wall layer
+    static final Color CLEAR = new Color(0, 0, 0, 0);
+    // The importance of every color code of Grid.COLORS when blocks of cells are
+    // shown as one pixel: the path, then searched cells, then the exit, then
+    // unvisited cells
+    static final int[] RANK = { 0, 2, 1, 3 };
+
+    // All cells in the maze
+    Graph board;
+    // The dimensions of the maze
+    int horLength;
+    int verLength;
+    // The part of the maze shown
+    Viewport view;
+    // The pixels of every cell shown, in its current color
+    ComputedPixelImage cellLayer;
+    // The pixels of every wall shown still standing, over a transparent background
+    ComputedPixelImage wallLayer;
+    // The knocked down walls of every cell as a mask of NeighborIndex.EAST and
+    // NeighborIndex.SOUTH
+    byte[] knocked;
+    // Cells whose color changed since the last frame
+    ArrayList<Cell> dirty;
+    // The color code of every block of 2^k by 2^k cells, for every level k from
+    // 1 up to the largest block the viewport can show, in row-major order
+    byte[][] levels;
+
+    // Paints every cell of the given board shown through the given viewport, and
+    // every wall except the given edges that were already knocked down
+    MazeLayers(Graph board, int horLength, int verLength, List<Edge> edgesKnocked,
+            Viewport view) {
+        this.board = board;
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.view = view;
+        this.knocked = new byte[horLength * verLength];
+        this.dirty = new ArrayList<Cell>();
+        if (edgesKnocked instanceof EdgeList) {
+            EdgeList list = (EdgeList) edgesKnocked;
+            for (int e = 0; e < list.size(); e++) {
+                this.knocked[list.from(e)] |= list.to(e) == list.from(e) + 1
+                        ? NeighborIndex.EAST : NeighborIndex.SOUTH;
+            }
+        } else {
+            for (Edge edge : edgesKnocked) {
+                this.knocked[edge.from.idx] |= this.side(edge);
+            }
+        }
+        this.buildLevels();
+        this.refresh();
+    }
+
+    // EFFECT: computes the color of every block of cells at every level the
+    // viewport can zoom out to
+    void buildLevels() {
+        int depth = 0;
+        for (int b = new Viewport(this.horLength, this.verLength).block; b > 1; b = b / 2) {
+            depth = depth + 1;
+        }
+        this.levels = new byte[depth][];
+        for (int k = 1; k <= depth; k++) {
+            int width = this.levelWidth(k);
+            this.levels[k - 1] = new byte[width * this.levelHeight(k)];
+            for (int b = 0; b < this.levels[k - 1].length; b++) {
+                this.levels[k - 1][b] = this.blockColor(k, b % width, b / width);
+            }
+        }
+    }
+
+    // Returns the amount of blocks in one row at the given level
+    int levelWidth(int level) {
+        return (this.horLength + (1 << level) - 1) >> level;
+    }
+
+    // Returns the amount of blocks in one column at the given level
+    int levelHeight(int level) {
+        return (this.verLength + (1 << level) - 1) >> level;
+    }
+
+    // Returns the color code of the block at the given level, column and row,
+    // where level 0 is the cells themselves
+    byte code(int level, int col, int row) {
+        if (level == 0) {
+            return this.board.grid.state[row * this.horLength + col];
+        }
+        return this.levels[level - 1][row * this.levelWidth(level) + col];
+    }
+
+    // Returns the most important color code of the up to four blocks of the
+    // level below that make up the block at the given level, column and row
+    byte blockColor(int level, int col, int row) {
+        byte best = 0;
+        for (int r = row * 2; r < row * 2 + 2 && r < this.levelHeight(level - 1); r++) {
+            for (int c = col * 2; c < col * 2 + 2 && c < this.levelWidth(level - 1); c++) {
+                byte code = this.code(level - 1, c, r);
+                if (RANK[code] > RANK[best]) {
+                    best = code;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Returns the side of its from cell that the given edge is on
+    byte side(Edge edge) {
+        if (edge.to.idx == edge.from.idx + 1) {
+            return NeighborIndex.EAST;
+        } else {
+            return NeighborIndex.SOUTH;
+        }
+    }
+
+    // EFFECT: marks the given cell to be repainted on the next frame
+    void invalidate(Cell cell) {
+        this.dirty.add(cell);
+    }
+
+    // EFFECT: repaints everything shown through the viewport, such as after it
+    // moved or zoomed
+    void refresh() {
+        // Layers have even dimensions so that they line up with the scene's pixels
+        // when placed by their centers
+        int width = Math.max(2, (this.view.pixelWidth() + 1) / 2 * 2);
+        int height = Math.max(2, (this.view.pixelHeight() + 1) / 2 * 2);
+        if (this.cellLayer == null || this.cellLayer.width != width
+                || this.cellLayer.height != height) {
+            this.cellLayer = new ComputedPixelImage(width, height);
+            this.wallLayer = new ComputedPixelImage(width, height);
+        } else {
+            this.wallLayer.setPixels(0, 0, width, height, CLEAR);
+        }
+        this.dirty.clear();
+        int firstCol = this.view.left;
+        int firstRow = this.view.top;
+        int lastCol = firstCol + this.view.columns();
+        int lastRow = firstRow + this.view.rows();
+        if (this.view.block > 1) {
+            this.paintBlocks();
+        } else {
+            for (int row = firstRow; row < lastRow; row++) {
+                for (int col = firstCol; col < lastCol; col++) {
+                    this.paintCell(row * this.horLength + col);
+                }
+            }
+        }
+        if (this.view.showsWalls()) {
+            // The walls of the cells just outside the top and left edges overlap
+            // the cells shown
+            for (int row = Math.max(0, firstRow - 1); row < lastRow; row++) {
+                for (int col = Math.max(0, firstCol - 1); col < lastCol; col++) {
+                    int idx = row * this.horLength + col;
+                    if (col < this.horLength - 1) {
+                        this.paintStanding(idx, NeighborIndex.EAST);
+                    }
+                    if (row < this.verLength - 1) {
+                        this.paintStanding(idx, NeighborIndex.SOUTH);
+                    }
+                }
+            }
+        }
+    }
+
+    // EFFECT: paints every block of cells shown onto the cell layer in its color,
+    // in runs of blocks of the same color
+    void paintBlocks() {
+        int level = Integer.numberOfTrailingZeros(this.view.block);
+        int firstCol = this.view.left >> level;
+        int firstRow = this.view.top >> level;
+        int across = this.view.pixelWidth() / this.view.cellWidth;
+        int down = this.view.pixelHeight() / this.view.cellHeight;
+        int cellWidth = this.view.cellWidth;
+        int cellHeight = this.view.cellHeight;
+        for (int y = 0; y < down; y++) {
+            int run = 0;
+            byte runCode = this.code(level, firstCol, firstRow + y);
+            for (int x = 1; x <= across; x++) {
+                byte code = x < across ? this.code(level, firstCol + x, firstRow + y) : -1;
+                if (code != runCode) {
+                    this.cellLayer.setPixels(run * cellWidth, y * cellHeight,
+                            (x - run) * cellWidth, cellHeight, Grid.COLORS[runCode]);
+                    run = x;
+                    runCode = code;
+                }
+            }
+        }
+    }
+
+    // EFFECT: paints the cell at the given index onto the cell layer in its color
+    void paintCell(int idx) {
+        int col = idx % this.horLength;
+        int row = idx / this.horLength;
+        this.fill(this.cellLayer, this.view.x(col), this.view.y(row), this.view.cellWidth,
+                this.view.cellHeight, this.board.grid.color(idx));
+    }
+
+    // EFFECT: recomputes the blocks of every level that hold the cell at the given
+    // index, and repaints the pixel of the block shown if it changed
+    void updateBlocks(int idx) {
+        int col = idx % this.horLength;
+        int row = idx / this.horLength;
+        for (int k = 1; k <= this.levels.length; k++) {
+            col = col >> 1;
+            row = row >> 1;
+            byte code = this.blockColor(k, col, row);
+            int b = row * this.levelWidth(k) + col;
+            if (this.levels[k - 1][b] == code) {
+                return;
+            }
+            this.levels[k - 1][b] = code;
+            if (this.view.block == 1 << k && this.view.contains(idx)) {
+                this.fill(this.cellLayer, this.view.x(idx % this.horLength),
+                        this.view.y(idx / this.horLength), this.view.cellWidth,
+                        this.view.cellHeight, Grid.COLORS[code]);
+            }
+        }
+    }
+
+    // EFFECT: erases the given edge from the wall layer
+    void knock(Edge edge) {
+        int idx = edge.from.idx;
+        this.knocked[idx] |= this.side(edge);
+        if (this.view.showsWalls() && (this.view.contains(idx)
+                || this.view.contains(edge.to.idx))) {
+            this.paintWall(idx, this.side(edge), CLEAR);
+            // Walls overlap at their corners, so restore the ones around both cells
+            this.paintWalls(idx);
+            this.paintWalls(edge.to.idx);
+        }
+    }
+
+    // EFFECT: paints the given edge back onto the wall layer
+    void raise(Edge edge) {
+        int idx = edge.from.idx;
+        this.knocked[idx] &= ~this.side(edge);
+        if (this.view.showsWalls() && (this.view.contains(idx)
+                || this.view.contains(edge.to.idx))) {
+            this.paintWall(idx, this.side(edge), Color.darkGray);
+        }
+    }
+
+    // EFFECT: paints the standing walls on all four sides of the cell at the
+    // given index
+    void paintWalls(int idx) {
+        int col = idx % this.horLength;
+        int row = idx / this.horLength;
+        if (col < this.horLength - 1) {
+            this.paintStanding(idx, NeighborIndex.EAST);
+        }
+        if (row < this.verLength - 1) {
+            this.paintStanding(idx, NeighborIndex.SOUTH);
+        }
+        if (col > 0) {
+            this.paintStanding(idx - 1, NeighborIndex.EAST);
+        }
+        if (row > 0) {
+            this.paintStanding(idx - this.horLength, NeighborIndex.SOUTH);
+        }
+    }
+
+    // EFFECT: paints the wall on the given side of the cell at the given index
+    // if it is still standing
+    void paintStanding(int idx, byte side) {
+        if ((this.knocked[idx] & side) == 0) {
+            this.paintWall(idx, side, Color.darkGray);
+        }
+    }
+
+    // EFFECT: paints the wall on the given side (east or south) of the cell at
+    // the given index onto the wall layer, 2 pixels thick
+    void paintWall(int idx, byte side, Color color) {
+        int left = this.view.x(idx % this.horLength);
+        int top = this.view.y(idx / this.horLength);
+        int width = this.view.cellWidth;
+        int height = this.view.cellHeight;
+        if (side == NeighborIndex.EAST) {
+            this.fill(this.wallLayer, left + width - 1, top, 2, height, color);
+        } else {
+            this.fill(this.wallLayer, left, top + height - 1, width, 2, color);
+        }
+    }
+
+    // EFFECT: fills the part of the given rectangle within the given layer
+    void fill(ComputedPixelImage layer, int x, int y, int width, int height, Color color) {
+        int right = Math.min(x + width, layer.width);
+        int bottom = Math.min(y + height, layer.height);
+        x = Math.max(x, 0);
+        y = Math.max(y, 0);
+        if (x < right && y < bottom) {
+            layer.setPixels(x, y, right - x, bottom - y, color);
+        }
+    }
+
+    // EFFECT: repaints the cells that changed and places both layers onto the
+    // given scene
+    void draw(WorldScene scene) {
+        for (Cell cell : this.dirty) {
+            if (this.levels.length > 0) {
+                this.updateBlocks(cell.idx);
+            }
+            if (this.view.block == 1 && this.view.contains(cell.idx)) {
+                this.paintCell(cell.idx);
+            }
+        }
+        this.dirty.clear();
+        scene.placeImageXY(this.cellLayer, this.cellLayer.width / 2, this.cellLayer.height / 2);
+        scene.placeImageXY(this.wallLayer, this.wallLayer.width / 2, this.wallLayer.height / 2);
+    }
+}
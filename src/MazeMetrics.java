@@ -0,0 +1,126 @@
+import java.lang.management.ManagementFactory;
+
+// Represents the timings of a game's hot paths: how long its ticks, frames,
+// searches and generation phases take, and how much they allocate. A game
+// records into its metrics as it runs, and snapshot gives a copy that can be
+// read elsewhere
+class MazeMetrics {
+    // The bean that counts the bytes allocated by each thread, or null if this
+    // JVM doesn't count them
+    static final com.sun.management.ThreadMXBean THREADS = MazeMetrics.threads();
+
+    // The amount of ticks, their total and longest duration in nanoseconds, and
+    // the duration of the last one
+    long ticks;
+    long tickNanos;
+    long maxTickNanos;
+    long lastTickNanos;
+    // The bytes allocated by the last tick
+    long lastTickBytes;
+    // The amount of frames built, their longest build time, and the build time,
+    // images placed and cells repainted of the last one
+    long frames;
+    long maxFrameNanos;
+    long lastFrameNanos;
+    int lastFrameImages;
+    int lastFrameCells;
+    // The cells expanded by the last search, and how long it and reconstructing
+    // its path took
+    int lastExpansions;
+    long lastSearchNanos;
+    long lastReconstructNanos;
+    // How long the phases of the last generation took, and the bytes they allocated
+    long fieldsNanos;
+    long sortNanos;
+    long mazeNanos;
+    long generationBytes;
+
+    // Returns the bean that counts the bytes allocated by each thread, or null
+    static com.sun.management.ThreadMXBean threads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            return (com.sun.management.ThreadMXBean) threads;
+        }
+        return null;
+    }
+
+    // Returns the bytes allocated by this thread so far, or 0 if this JVM doesn't
+    // count them
+    static long allocated() {
+        if (THREADS == null) {
+            return 0;
+        }
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    // EFFECT: records a tick that started at the given time having allocated the
+    // given bytes so far
+    void tick(long start, long startBytes) {
+        this.lastTickNanos = System.nanoTime() - start;
+        this.lastTickBytes = MazeMetrics.allocated() - startBytes;
+        this.ticks = this.ticks + 1;
+        this.tickNanos = this.tickNanos + this.lastTickNanos;
+        this.maxTickNanos = Math.max(this.maxTickNanos, this.lastTickNanos);
+    }
+
+    // EFFECT: records a frame that started at the given time, placing the given
+    // amount of images and repainting the given amount of cells
+    void frame(long start, int images, int cells) {
+        this.lastFrameNanos = System.nanoTime() - start;
+        this.lastFrameImages = images;
+        this.lastFrameCells = cells;
+        this.frames = this.frames + 1;
+        this.maxFrameNanos = Math.max(this.maxFrameNanos, this.lastFrameNanos);
+    }
+
+    // Returns a copy of these metrics as they are now
+    MazeMetrics snapshot() {
+        MazeMetrics copy = new MazeMetrics();
+        copy.ticks = this.ticks;
+        copy.tickNanos = this.tickNanos;
+        copy.maxTickNanos = this.maxTickNanos;
+        copy.lastTickNanos = this.lastTickNanos;
+        copy.lastTickBytes = this.lastTickBytes;
+        copy.frames = this.frames;
+        copy.maxFrameNanos = this.maxFrameNanos;
+        copy.lastFrameNanos = this.lastFrameNanos;
+        copy.lastFrameImages = this.lastFrameImages;
+        copy.lastFrameCells = this.lastFrameCells;
+        copy.lastExpansions = this.lastExpansions;
+        copy.lastSearchNanos = this.lastSearchNanos;
+        copy.lastReconstructNanos = this.lastReconstructNanos;
+        copy.fieldsNanos = this.fieldsNanos;
+        copy.sortNanos = this.sortNanos;
+        copy.mazeNanos = this.mazeNanos;
+        copy.generationBytes = this.generationBytes;
+        return copy;
+    }
+
+    // Returns the average duration of a tick in nanoseconds
+    long meanTickNanos() {
+        return this.tickNanos / Math.max(1, this.ticks);
+    }
+
+    // Returns these metrics as lines of text, in milliseconds and kilobytes
+    String[] lines() {
+        return new String[] {
+            String.format("tick %.3f ms (mean %.3f, max %.3f)", this.lastTickNanos / 1e6,
+                    this.meanTickNanos() / 1e6, this.maxTickNanos / 1e6),
+            String.format("frame %.3f ms (max %.3f)", this.lastFrameNanos / 1e6,
+                    this.maxFrameNanos / 1e6),
+            this.lastFrameImages + " images, " + this.lastFrameCells + " cells repainted",
+            String.format("search %d cells, %.3f ms", this.lastExpansions,
+                    this.lastSearchNanos / 1e6),
+            String.format("path %.3f ms", this.lastReconstructNanos / 1e6),
+            String.format("fields %.1f, sort %.1f, maze %.1f ms", this.fieldsNanos / 1e6,
+                    this.sortNanos / 1e6, this.mazeNanos / 1e6),
+            (this.generationBytes >> 10) + " KB generating, " + (this.lastTickBytes >> 10)
+                    + " KB last tick" };
+    }
+
+    // Returns these metrics on one line
+    public String toString() {
+        return String.join(", ", this.lines());
+    }
+}
@@ -0,0 +1,161 @@
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Represents a producer of upcoming mazes, which generates them on a background
+// executor so that a restart only has to swap in a finished maze. Mazes are
+// kept in lanes by size and algorithm, each with a bounded queue of ready mazes
+// that follow each other's seeds, and a queue of spare games whose arrays are
+// reused to generate the next mazes instead of allocating new ones
+class MazePipeline {
+    // The most mazes generated ahead in every lane
+    static final int DEFAULT_DEPTH = 2;
+
+    // The executor generating the mazes
+    ExecutorService executor;
+    // The most mazes generated ahead in every lane
+    int depth;
+    // The lanes of mazes, by size and algorithm
+    HashMap<String, PipelineLane> lanes;
+
+    // Creates a pipeline generating on one background daemon thread
+    MazePipeline() {
+        this(Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "maze-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        }), DEFAULT_DEPTH);
+    }
+
+    MazePipeline(ExecutorService executor, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Pipeline depth must be at least 1");
+        }
+        this.executor = executor;
+        this.depth = depth;
+        this.lanes = new HashMap<String, PipelineLane>();
+    }
+
+    // Returns the lane of the given size and algorithm, creating it if needed
+    PipelineLane lane(int horLength, int verLength, String algorithm) {
+        synchronized (this.lanes) {
+            return this.lanes.computeIfAbsent(horLength + "x" + verLength + " " + algorithm,
+                key -> new PipelineLane(horLength, verLength, algorithm));
+        }
+    }
+
+    // EFFECT: starts generating the mazes of the given size and algorithm that
+    // follow from the given seed, dropping any ready mazes of other seeds
+    void prefetch(int horLength, int verLength, String algorithm, long seed) {
+        PipelineLane lane = this.lane(horLength, verLength, algorithm);
+        synchronized (lane) {
+            if (lane.ready.isEmpty() && !lane.producing || lane.wanted != seed) {
+                lane.epoch = lane.epoch + 1;
+                lane.spares.addAll(lane.ready);
+                lane.ready.clear();
+                lane.wanted = seed;
+                lane.nextSeed = seed;
+            }
+            if (!lane.producing && lane.ready.size() < this.depth) {
+                lane.producing = true;
+                this.executor.execute(() -> this.produce(lane));
+            }
+        }
+    }
+
+    // Returns the ready maze of the given size and algorithm generated from the
+    // given seed, or null if it isn't finished
+    // EFFECT: removes the returned maze from its lane
+    MazeWorld take(int horLength, int verLength, String algorithm, long seed) {
+        PipelineLane lane = this.lane(horLength, verLength, algorithm);
+        synchronized (lane) {
+            MazeWorld next = lane.ready.peekFirst();
+            if (next == null || next.seed != seed) {
+                return null;
+            }
+            lane.ready.removeFirst();
+            lane.wanted = next.nextSeed;
+            return next;
+        }
+    }
+
+    // EFFECT: hands back the given game, which no longer needs its maze, so that
+    // its arrays generate an upcoming maze
+    void recycle(MazeWorld world) {
+        PipelineLane lane = this.lane(world.horLength, world.verLength, world.algorithm);
+        synchronized (lane) {
+            if (lane.spares.size() < this.depth) {
+                lane.spares.add(world);
+            }
+        }
+    }
+
+    // EFFECT: generates mazes into the given lane until it has depth ready mazes
+    void produce(PipelineLane lane) {
+        while (true) {
+            MazeWorld world;
+            long seed;
+            int epoch;
+            synchronized (lane) {
+                if (lane.ready.size() >= this.depth) {
+                    lane.producing = false;
+                    return;
+                }
+                world = lane.spares.pollFirst();
+                seed = lane.nextSeed;
+                epoch = lane.epoch;
+            }
+            try {
+                if (world == null) {
+                    world = new MazeWorld(lane.horLength, lane.verLength, seed, lane.algorithm);
+                } else {
+                    world.regenerate(seed);
+                }
+            } catch (RuntimeException e) {
+                synchronized (lane) {
+                    lane.producing = false;
+                }
+                throw e;
+            }
+            synchronized (lane) {
+                if (epoch == lane.epoch) {
+                    lane.ready.add(world);
+                    lane.nextSeed = world.nextSeed;
+                } else if (lane.spares.size() < this.depth) {
+                    lane.spares.add(world);
+                }
+            }
+        }
+    }
+}
+
+// Represents the upcoming mazes of one size and algorithm in a MazePipeline
+class PipelineLane {
+    int horLength;
+    int verLength;
+    String algorithm;
+    // The finished mazes, in the order of their seeds
+    ArrayDeque<MazeWorld> ready;
+    // The games handed back to have their arrays reused
+    ArrayDeque<MazeWorld> spares;
+    // The seed the first ready maze should have
+    long wanted;
+    // The seed of the next maze to generate
+    long nextSeed;
+    // Whether a task is generating mazes for this lane
+    boolean producing;
+    // Counts the times the seeds of this lane were restarted, so that a maze
+    // generated from an old seed is not queued
+    int epoch;
+
+    PipelineLane(int horLength, int verLength, String algorithm) {
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.algorithm = algorithm;
+        this.ready = new ArrayDeque<MazeWorld>();
+        this.spares = new ArrayDeque<MazeWorld>();
+        this.producing = false;
+        this.epoch = 0;
+    }
+}
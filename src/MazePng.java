@@ -0,0 +1,67 @@
+import java.awt.Color;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+// Generates a maze, solves it and saves a picture of it as a PNG without a
+// display, with the searched cells in pink and the path in magenta
+// Usage: MazePng <file> <horLength> <verLength> [bfs|dfs|astar|bidi|dijkstra|none]
+//     [seed] [cell pixels]
+public class MazePng {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: MazePng <file> <horLength> <verLength> "
+                    + "[bfs|dfs|astar|bidi|dijkstra|none] [seed] [cell pixels]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int horLength = Integer.parseInt(args[1]);
+        int verLength = Integer.parseInt(args[2]);
+        String name = args.length > 3 ? args[3] : "bfs";
+        long seed;
+        if (args.length > 4) {
+            seed = Long.parseLong(args[4]);
+        } else {
+            seed = new Random().nextLong();
+        }
+        int cellPixels = args.length > 5 ? Integer.parseInt(args[5])
+                : MazeRaster.fit(horLength, verLength);
+
+        long start = System.nanoTime();
+        Maze maze = new MazeGenerator(new SplittableRandom(seed)).generate(horLength, verLength,
+                seed);
+        Grid grid = new Grid(horLength, verLength);
+        grid.walls = maze.passages.open;
+        // Dijkstra's algorithm solves the maze covered with terrain
+        if (name.equals("dijkstra")) {
+            grid.terrain = new Terrain(new SplittableRandom(seed).split()).lay(horLength,
+                    verLength);
+        }
+        ASolver solver = null;
+        if (!name.equals("none")) {
+            solver = ASolver.named(name, grid.terrain);
+        }
+        long generated = System.nanoTime();
+        // Color the cells the way a finished game does
+        if (solver != null) {
+            solver.search(maze.passages, 0, maze.last());
+            for (int i = 0; i < solver.expanded; i++) {
+                grid.changeColor(solver.order[i], Color.pink);
+            }
+            for (int idx : solver.path(0, maze.last())) {
+                grid.changeColor(idx, Color.magenta);
+            }
+        }
+        long solved = System.nanoTime();
+        MazeRaster raster = new MazeRaster(grid, cellPixels);
+        raster.draw();
+        long drawn = System.nanoTime();
+        raster.write(file);
+        long written = System.nanoTime();
+        System.out.printf("%dx%d maze (seed %d) saved to %s as a %dx%d image%n", horLength,
+                verLength, seed, file, raster.image.getWidth(), raster.image.getHeight());
+        System.out.printf("generation: %.1f ms, search: %.1f ms, raster: %.1f ms, png: %.1f ms%n",
+                (generated - start) / 1e6, (solved - generated) / 1e6, (drawn - solved) / 1e6,
+                (written - drawn) / 1e6);
+    }
+}
@@ -0,0 +1,161 @@
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.imageio.ImageIO;
+
+// Represents a picture of a maze drawn straight into the pixels of an image,
+// without a window or an image object per cell or wall. Every cell is a square
+// of cellPixels pixels, and every wall is a line of one pixel shared by the two
+// cells it separates. Pixels are indices into a palette of the wall color, the
+// colors of Grid and the colors of the terrain, so that an image takes one byte
+// per pixel and compresses quickly
+class MazeRaster {
+    // The palette index of walls
+    static final byte WALL = 0;
+    // The palette index of the first color of Grid.COLORS, followed by the others
+    static final int CELL_COLORS = 1;
+    // The palette index of the first kind of terrain after ground
+    static final int TERRAIN_COLORS = CELL_COLORS + Grid.COLORS.length;
+    // The amount of maze rows a band of the image covers before it is split
+    static final int BAND_ROWS = 64;
+    // The largest side of an image whose cell size is picked to fit
+    static final int FIT_PIXELS = 4096;
+
+    // The maze being drawn
+    Grid grid;
+    // The amount of pixels along each side of a cell, including one wall
+    int cellPixels;
+    // The image being drawn into, and its pixels row by row
+    BufferedImage image;
+    byte[] pixels;
+    int width;
+    // The palette index of every cell
+    byte[] cellColors;
+
+    // Creates an image of the given grid, with the cells and walls it has now
+    MazeRaster(Grid grid, int cellPixels) {
+        if (cellPixels < 2) {
+            throw new IllegalArgumentException("Cells must be at least 2 pixels");
+        }
+        if (((long) grid.horLength * cellPixels + 1)
+                * ((long) grid.verLength * cellPixels + 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Image of " + grid.horLength + "x"
+                    + grid.verLength + " cells of " + cellPixels + " pixels is too large");
+        }
+        this.grid = grid;
+        this.cellPixels = cellPixels;
+        this.width = grid.horLength * cellPixels + 1;
+        this.image = new BufferedImage(this.width, grid.verLength * cellPixels + 1,
+                BufferedImage.TYPE_BYTE_INDEXED, MazeRaster.palette());
+        this.pixels = ((DataBufferByte) this.image.getRaster().getDataBuffer()).getData();
+        this.cellColors = new byte[grid.size()];
+    }
+
+    // Returns the palette of every image: the wall color, then the colors of
+    // Grid, then the colors of the terrain after ground
+    static IndexColorModel palette() {
+        Color[] colors = new Color[TERRAIN_COLORS + Terrain.COLORS.length - 1];
+        colors[WALL] = Color.darkGray;
+        for (int c = 0; c < Grid.COLORS.length; c++) {
+            colors[CELL_COLORS + c] = Grid.COLORS[c];
+        }
+        for (int t = 1; t < Terrain.COLORS.length; t++) {
+            colors[TERRAIN_COLORS + t - 1] = Terrain.COLORS[t];
+        }
+        byte[] r = new byte[colors.length];
+        byte[] g = new byte[colors.length];
+        byte[] b = new byte[colors.length];
+        for (int c = 0; c < colors.length; c++) {
+            r[c] = (byte) colors[c].getRed();
+            g[c] = (byte) colors[c].getGreen();
+            b[c] = (byte) colors[c].getBlue();
+        }
+        return new IndexColorModel(8, colors.length, r, g, b);
+    }
+
+    // Returns the size of the cells of a maze of the given size so that its
+    // image is about FIT_PIXELS pixels along its longest side
+    static int fit(int horLength, int verLength) {
+        return Math.max(2, Math.min(16, FIT_PIXELS / Math.max(horLength, verLength)));
+    }
+
+    // Returns the image of the maze, drawn in bands of rows in parallel
+    // EFFECT: draws every pixel of the image
+    BufferedImage draw() {
+        for (int c = 0; c < this.cellColors.length; c++) {
+            this.cellColors[c] = this.colorOf(c);
+        }
+        ForkJoinPool.commonPool().invoke(new RasterBandTask(this, 0, this.grid.verLength));
+        return this.image;
+    }
+
+    // Returns the palette index of the cell at the given index
+    byte colorOf(int idx) {
+        byte state = this.grid.state[idx];
+        if (state == 0 && this.grid.terrain != null && this.grid.terrain[idx] != Terrain.GROUND) {
+            return (byte) (TERRAIN_COLORS + this.grid.terrain[idx] - 1);
+        }
+        return (byte) (CELL_COLORS + state);
+    }
+
+    // EFFECT: draws the pixels of the given range of rows of cells, from the
+    // first (inclusive) to the last (exclusive), including the wall above every
+    // row, and the bottom of the maze after the last row
+    void drawRows(int first, int last) {
+        int horLength = this.grid.horLength;
+        int c = this.cellPixels;
+        for (int y = first; y < last; y++) {
+            int row = y * horLength;
+            // The wall above the row, open over the cells with a passage north
+            int offset = y * c * this.width;
+            for (int x = 0; x < horLength; x++) {
+                byte above = WALL;
+                if ((this.grid.walls[row + x] & NeighborIndex.NORTH) != 0) {
+                    above = this.cellColors[row + x];
+                }
+                this.pixels[offset + x * c] = WALL;
+                for (int p = 1; p < c; p++) {
+                    this.pixels[offset + x * c + p] = above;
+                }
+            }
+            this.pixels[offset + horLength * c] = WALL;
+            // The rows of pixels inside the cells, drawn once and copied
+            offset = offset + this.width;
+            for (int x = 0; x < horLength; x++) {
+                byte left = WALL;
+                if ((this.grid.walls[row + x] & NeighborIndex.WEST) != 0) {
+                    left = this.cellColors[row + x];
+                }
+                byte color = this.cellColors[row + x];
+                this.pixels[offset + x * c] = left;
+                for (int p = 1; p < c; p++) {
+                    this.pixels[offset + x * c + p] = color;
+                }
+            }
+            this.pixels[offset + horLength * c] = WALL;
+            for (int p = 2; p < c; p++) {
+                System.arraycopy(this.pixels, offset, this.pixels, offset + (p - 1) * this.width,
+                        this.width);
+            }
+        }
+        // The bottom of the maze is the wall below the last row
+        if (last == this.grid.verLength) {
+            int offset = last * c * this.width;
+            for (int px = 0; px < this.width; px++) {
+                this.pixels[offset + px] = WALL;
+            }
+        }
+    }
+
+    // EFFECT: writes the image as it was last drawn to the given file as a PNG
+    void write(Path file) throws IOException {
+        if (!ImageIO.write(this.image, "png", file.toFile())) {
+            throw new IOException("No PNG writer available");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import java.util.Arrays;
+
+// Represents a headless breadth or depth first search of a maze, tracked
+// entirely in primitive arrays, which processes cells in the same order as
+// Graph.bfs and Graph.dfs
+class MazeSearch extends ASolver {
+    // Whether this searches depth first (t) or breadth first (f)
+    boolean dfs;
+    // The cells waiting to be processed, used as a queue (bfs) or a stack (dfs)
+    int[] worklist;
+
+    MazeSearch(boolean dfs) {
+        this.dfs = dfs;
+    }
+
+    // Returns the name of this solver, as shown on its button
+    String name() {
+        if (this.dfs) {
+            return "DFS";
+        } else {
+            return "BFS";
+        }
+    }
+
+    // Searches the maze with the given passages from the given cell to the given
+    // cell, returning the amount of cells processed
+    // EFFECT: fills order and cameFrom
+    int search(NeighborIndex passages, int from, int to) {
+        int size = passages.degree.length;
+        this.reset(size);
+        // Every cell is added once per neighbor plus the first cell, which is
+        // fewer than two additions per cell unless opened walls made loops
+        if (this.worklist == null || this.worklist.length < size * 2) {
+            this.worklist = new int[size * 2];
+        }
+        boolean[] seen = new boolean[size];
+        int head = 0;
+        int tail = 0;
+        this.worklist[tail] = from;
+        tail = tail + 1;
+        while (head < tail) {
+            int next;
+            if (this.dfs) {
+                tail = tail - 1;
+                next = this.worklist[tail];
+            } else {
+                next = this.worklist[head];
+                head = head + 1;
+            }
+            // If next is the final cell, add it and stop
+            if (next == to) {
+                this.expand(next);
+                break;
+            }
+            // If next hasnt been processed, process it and add its neighbors
+            else if (!seen[next]) {
+                seen[next] = true;
+                this.expand(next);
+                if (tail + passages.degree(next) > this.worklist.length) {
+                    this.worklist = Arrays.copyOf(this.worklist, this.worklist.length * 2);
+                }
+                for (int k = 0; k < passages.degree(next); k++) {
+                    int n = passages.neighbor(next, k);
+                    this.worklist[tail] = n;
+                    tail = tail + 1;
+                    if (this.cameFrom[n] == -1 && n != from) {
+                        this.cameFrom[n] = next;
+                    }
+                }
+            }
+        }
+        return this.expanded;
+    }
+}
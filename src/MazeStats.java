@@ -0,0 +1,39 @@
+import java.util.Locale;
+
+// Represents the statistics of one maze used to tune difficulty, as computed by
+// MazeAnalyzer
+class MazeStats {
+    // The columns of a row of CSV, in the order row() writes them
+    static final String HEADER = "seed,horLength,verLength,diameter,deadEnds,branching,"
+            + "pathLength,pathRatio,decisions,difficulty";
+
+    // The seed the maze was generated from
+    long seed;
+    // The dimensions of the maze
+    int horLength;
+    int verLength;
+    // The amount of passages on the longest path between any two cells
+    int diameter;
+    // The amount of cells with only one passage
+    int deadEnds;
+    // The average amount of ways on from a cell that isn't a dead end, walking
+    // away from the first cell
+    double branching;
+    // The amount of cells on the path from the first to the last cell
+    int pathLength;
+    // The share of all cells that are on that path
+    double pathRatio;
+    // The amount of wrong turns available along that path
+    int decisions;
+    // The sum of the depths of the wrong branches along that path per cell on the
+    // path, or how many extra steps per step a walker takes who explores every
+    // wrong branch to its deepest end
+    double difficulty;
+
+    // Returns these statistics as a row of CSV, without a line break
+    String row() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%d,%d,%.4f,%d,%.6f,%d,%.4f", this.seed,
+                this.horLength, this.verLength, this.diameter, this.deadEnds, this.branching,
+                this.pathLength, this.pathRatio, this.decisions, this.difficulty);
+    }
+}
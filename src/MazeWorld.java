@@ -1,9 +1,11 @@
 // Represents a maze game
 
 import java.awt.Color;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import javalib.impworld.World;
 import javalib.impworld.WorldScene;
@@ -18,21 +20,32 @@ class MazeWorld extends World {
     int verLength;
     // All cells in the game
     Graph board;
-    // A map where keys are all cells in this, and
-    // values are each key's representative/group/link
-    HashMap<Cell, Cell> representatives;
     // Any edges that connects two cells (and won't be visualized)
-    ArrayList<Edge> edgesInTree;
+    EdgeList edgesInTree;
     // Any edges currently knocked down
-    ArrayList<Edge> edgesKnocked;
-    // All edges in the graph, sorted by increasing weight
-    ArrayList<Edge> worklist;
+    EdgeList edgesKnocked;
+    // The generator of this maze, which keeps its arrays for the next maze
+    AMazeGenerator generator;
+    // The seed that the edge weights of this maze are generated from
+    long seed;
+    // The source of the edge weights of this maze, and of the next maze's seed
+    SplittableRandom rand;
+    // The seed of the next maze, drawn from rand once this maze is generated
+    long nextSeed;
+    // The source of ready generated mazes for restarts, or null to generate
+    // every maze on restart
+    MazePipeline pipeline;
+    // The name of the algorithm generating this maze, as AMazeGenerator.named takes
+    String algorithm;
     // Whether or not the user has chosen a way to solve the maze
     boolean started;
     // If the maze should be solved with dfs (t) or bfs (f)
     boolean dfs;
     // If the maze is being solved manually
     boolean manual;
+    // The solver the user chose to solve the maze with, or null if they chose
+    // dfs, bfs or to solve it manually
+    ASolver solver;
     // Whether or not the maze is currently being searched
     boolean searching;
     // The round of search that the maze is currently on
@@ -40,40 +53,89 @@ class MazeWorld extends World {
     // The round of construction of the maze edges
     int edgeRound;
     // Cells already seen
-    ArrayList<Cell> alreadySeen;
+    CellList alreadySeen;
     // The correct path to solve this maze
     ArrayList<Cell> correctPath;
-    // The list of cells traveled and where they came from,
-    // to use for tracking if the maze is manually solved
-    ArrayList<Cell> cameFromEdge;
+    // The path of the user from the first cell if the maze is manually solved
+    ManualPath manualPath;
+    // The last automatic search of this maze, and its replay on the board
+    SearchTrace trace;
+    TraceReplay replay;
+    // Whether the mazes of this game have patches of mud and water, which cost
+    // more to cross when solved with dijkstra's algorithm
+    boolean rough;
+    // Whether the replay of the search was paused to be scrubbed through
+    boolean paused;
+    // The outcome of the last export of the search or the picture of the maze,
+    // or of comparing a loaded trace with the last search, shown under the buttons
+    String exportMessage;
     // Whether or not the game is over
     boolean over;
+    // The pre-rendered cells and walls of this maze, built on the first frame
+    MazeLayers layers;
+    // The part of the maze shown on the board
+    Viewport view;
+    // The timings of this game's ticks, frames, searches and generation
+    MazeMetrics metrics;
+    // Whether or not the metrics are shown under the buttons
+    boolean showMetrics;
+    // The pacing of the generation and search animations
+    AnimationScheduler animation;
 
     // Constructor for real, randomized games
     MazeWorld(int horLength, int verLength) {
+        this(horLength, verLength, new SplittableRandom().nextLong());
+    }
+
+    // Constructor for real games that are reproduced from the given seed
+    MazeWorld(int horLength, int verLength, long seed) {
+        this(horLength, verLength, seed, "kruskal");
+    }
+
+    // Constructor for real games that are reproduced from the given seed with the
+    // given generation algorithm
+    MazeWorld(int horLength, int verLength, long seed, String algorithm) {
         // Checks that both parameters are larger than one
         if (horLength < 2 || verLength < 2) {
             throw new IllegalArgumentException("Maze must be at least 2x2");
         }
         this.horLength = horLength;
         this.verLength = verLength;
+        this.seed = seed;
+        this.algorithm = algorithm;
         this.started = false;
         this.edgeRound = 0;
         this.searching = false;
         this.over = false;
-        this.alreadySeen = new ArrayList<Cell>();
-        this.edgesKnocked = new ArrayList<Edge>();
+        this.metrics = new MazeMetrics();
+        this.animation = new AnimationScheduler(AnimationScheduler.DEFAULT_NANOS);
 
-        // Create the board, worklist, and representatives for this maze game
+        // Create the board, and the walls sorted by ascending weight for this maze
+        // game
         this.makeFields(false);
 
-        // Sort the worklist by ascending weight
-        Collections.sort(this.worklist, new CompareEdges());
-
         // Make randomized maze with one, non-cyclic path to any two cells
         this.makeMaze();
     }
 
+    // Constructor for games that play an already generated maze, such as one
+    // loaded from a file
+    MazeWorld(Maze maze) {
+        this.horLength = maze.horLength;
+        this.verLength = maze.verLength;
+        this.seed = maze.seed;
+        this.algorithm = "kruskal";
+        this.started = false;
+        this.edgeRound = 0;
+        this.searching = false;
+        this.over = false;
+        this.metrics = new MazeMetrics();
+        this.animation = new AnimationScheduler(AnimationScheduler.DEFAULT_NANOS);
+
+        // Create the board and the edges in the tree of the given maze
+        this.loadFields(maze);
+    }
+
     // Constructor for testing, where edge weights correspond to order
     // they are created (left to right, top to bottom)
     MazeWorld(int horLength, int verLength, boolean dfs) {
@@ -89,10 +151,12 @@ class MazeWorld extends World {
         this.edgeRound = 0;
         this.searching = false;
         this.dfs = dfs;
-        this.alreadySeen = new ArrayList<Cell>();
-        this.edgesKnocked = new ArrayList<Edge>();
+        this.algorithm = "kruskal";
+        this.metrics = new MazeMetrics();
+        // Tests step through the animations one step per tick
+        this.animation = new AnimationScheduler(0);
 
-        // Create the board, worklist, and representatives for this maze game
+        // Create the board and the walls sorted by weight for this maze game
         this.makeFields(true);
 
         // Make maze with one, non-cyclic path to any two cells
@@ -103,102 +167,199 @@ class MazeWorld extends World {
     }
 
     // Helper method that sets up the fields of this
-    // EFFECT: Adds items to this board, representatives, and worklist to begin maze
+    // EFFECT: resets this board, and weighs and sorts the walls of the maze to begin
     void makeFields(boolean testing) {
-        this.board = new Graph();
-        this.worklist = new ArrayList<Edge>();
-        this.representatives = new HashMap<Cell, Cell>();
-        int edgeIdx = 0;
-        // For all cells within the designated board size
-        for (int m = 0; m < this.horLength * this.verLength; m++) {
-            // Create the necessary cell
-            this.board.addCell(this.horLength, this.verLength, m);
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long startBytes = MazeMetrics.allocated();
+        // Reuse the arrays of the last maze if it had the same size
+        if (this.board != null && this.board.grid.horLength == this.horLength
+                && this.board.grid.verLength == this.verLength) {
+            this.board.reset();
+        } else {
+            this.board = new Graph(this.horLength, this.verLength);
+        }
+        this.fitView();
+        this.layers = null;
+        this.alreadySeen = new CellList(this.board.grid);
+        this.edgesKnocked = this.reuse(this.edgesKnocked);
+        this.rand = new SplittableRandom(this.seed);
+        // Tests weigh every wall by the order it is created (left to right, top
+        // to bottom) instead of randomly, for every maze of the game since the
+        // generator is kept
+        if (this.generator == null && testing) {
+            this.generator = new KruskalGenerator(this.rand, true);
+        } else if (this.generator == null) {
+            this.generator = AMazeGenerator.named(this.algorithm, this.rand);
+        } else {
+            this.generator.rand = this.rand;
+        }
+        // Only kruskal's algorithm weighs every wall up front
+        this.generator.weigh(this.horLength, this.verLength);
+
+        this.metrics.fieldsNanos = System.nanoTime() - start;
+        this.commitPhase(event, "fields");
+
+        // Sort the walls by ascending weight
+        event = new GenerationEvent();
+        event.begin();
+        start = System.nanoTime();
+        this.generator.sort();
+        this.metrics.sortNanos = System.nanoTime() - start;
+        this.metrics.generationBytes = MazeMetrics.allocated() - startBytes;
+        this.commitPhase(event, "sort");
+    }
+
+    // EFFECT: records the given phase of generating this maze to the flight recorder
+    void commitPhase(GenerationEvent event, String phase) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = phase;
+            event.cells = this.horLength * this.verLength;
+            event.commit();
+        }
+    }
 
-            // Add each cell to representatives, where the key is this, and the value
-            // is also this by default (every cell starts only connected to itself)
-            representatives.put(this.board.get(m), this.board.get(m));
+    // Returns the given list emptied if it holds edges of this board, to be
+    // refilled without growing again, or otherwise a new list
+    EdgeList reuse(EdgeList edges) {
+        if (edges != null && edges.grid == this.board.grid) {
+            edges.clear();
+            return edges;
+        }
+        return new EdgeList(this.board.grid);
+    }
 
-            // If this cell is not in the leftmost column, add an edge to worklist
-            // that separates this and the cell to the left of this
+    // Helper method that sets up the fields of this from an already generated maze,
+    // knocking down its walls in the order they are created instead of by weight
+    // EFFECT: Adds items to this board and edgesInTree
+    void loadFields(Maze maze) {
+        this.board = new Graph(this.horLength, this.verLength);
+        this.fitView();
+        this.layers = null;
+        this.alreadySeen = new CellList(this.board.grid);
+        this.edgesKnocked = new EdgeList(this.board.grid);
+        this.edgesInTree = new EdgeList(this.board.grid);
+        this.rand = new SplittableRandom(this.seed);
+        for (int m = 0; m < this.horLength * this.verLength; m++) {
             if (m % this.horLength != 0) {
-                this.worklist.add(new Edge(this.board.get(m - 1), this.board.get(m),
-                        this.horLength * this.verLength * 2, false));
-                // Set the weight of this edge equal to its index in the worklist
-                if (testing) {
-                    this.worklist.get(edgeIdx).changeWeight(edgeIdx);
-                    edgeIdx = edgeIdx + 1;
+                if (maze.passages.connected(m - 1, m)) {
+                    this.edgesInTree.addEdge(m - 1, false);
                 }
             }
-            // If this cell is not in the top row, add an edge to worklist
-            // that separates this and the cell above this
             if (m >= this.horLength) {
-                this.worklist.add(new Edge(this.board.get(m - this.horLength),
-                        this.board.get(m), this.horLength * this.verLength * 2, true));
-                // Set the weight of this edge equal to its index in the worklist
-                if (testing) {
-                    this.worklist.get(edgeIdx).changeWeight(edgeIdx);
-                    edgeIdx = edgeIdx + 1;
+                if (maze.passages.connected(m - this.horLength, m)) {
+                    this.edgesInTree.addEdge(m - this.horLength, true);
                 }
             }
         }
-
-        // Sort the worklist by ascending weight
-        Collections.sort(this.worklist, new CompareEdges());
+        this.board.indexEdges(this.horLength, this.verLength, this.edgesInTree);
+        this.nextSeed = this.rand.nextLong();
     }
 
-    // Helper method that randomly generates this maze using kruskal's algorithm
-    // EFFECT: Unions cells in representatives and adds edges to this edgesInTree
+    // Helper method that randomly generates this maze using kruskal's algorithm,
+    // or the algorithm this game was created with
+    // EFFECT: adds the edges the generator knocks down to this edgesInTree
     void makeMaze() {
-        this.edgesInTree = new ArrayList<Edge>();
-        for (int c = 0; c < this.worklist.size(); c++) {
-            Edge cheapest = this.worklist.get(c);
-            // If the two cells neighboring this edge are not yet linked
-            Cell repOne = new MazeUtils().find(this.representatives, cheapest.to);
-            Cell repTwo = new MazeUtils().find(this.representatives, cheapest.from);
-            if (repOne != repTwo) {
-                // Add this edge to edgesInTree, meaning it links two cells
-                this.edgesInTree.add(cheapest);
-                // Union the two cells by matching their representatives
-                this.representatives.replace(repOne, repTwo);
-            }
-        }
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long startBytes = MazeMetrics.allocated();
+        this.edgesInTree = this.reuse(this.edgesInTree);
+        // The generator knocks down walls straight into edgesInTree, using the
+        // walls makeFields weighed and sorted if it weighs them
+        this.generator.generate(this.horLength, this.verLength,
+                new EdgeCollector(this.edgesInTree));
+        // Index the passages of the finished maze for searching, playing and drawing
+        this.board.indexEdges(this.horLength, this.verLength, this.edgesInTree);
+        this.nextSeed = this.rand.nextLong();
+        this.metrics.mazeNanos = System.nanoTime() - start;
+        this.metrics.generationBytes = this.metrics.generationBytes + MazeMetrics.allocated()
+                - startBytes;
+        this.commitPhase(event, "maze");
+    }
+
+    // Returns the statistics of the spanning tree of this maze, from its first to
+    // its last cell
+    MazeStats stats() {
+        MazeStats stats = new MazeAnalyzer().analyze(this.board.neighbors, 0,
+                this.horLength * this.verLength - 1);
+        stats.seed = this.seed;
+        return stats;
     }
 
     // Helper method that searches the maze based on the option chosen
     // EFFECT: Adds cells to alreadySeen and correctPath
     void searchMaze() {
-        // Adds cells to alreadySeen based on either dfs or bfs
-        if (dfs) {
-            this.alreadySeen.addAll(this.board.dfs(this.board.get(0),
-                    this.board.get(this.horLength * this.verLength - 1), this.edgesInTree));
-        } else if (!dfs) {
-            this.alreadySeen.addAll(this.board.bfs(this.board.get(0),
-                    this.board.get(this.horLength * this.verLength - 1), this.edgesInTree));
+        SearchEvent event = new SearchEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int seen = this.alreadySeen.size();
+        // Adds cells to alreadySeen based on the chosen solver, or either dfs or bfs
+        CellList found;
+        if (this.solver != null) {
+            found = this.board.solve(this.solver, this.board.get(0),
+                    this.board.get(this.horLength * this.verLength - 1));
+        } else if (dfs) {
+            found = this.board.dfs(this.board.get(0),
+                    this.board.get(this.horLength * this.verLength - 1), this.edgesInTree);
+        } else {
+            found = this.board.bfs(this.board.get(0),
+                    this.board.get(this.horLength * this.verLength - 1), this.edgesInTree);
         }
+        // Takes the cells found instead of copying them if none were seen before
+        if (this.alreadySeen.isEmpty()) {
+            this.alreadySeen = found;
+        } else {
+            this.alreadySeen.addAll(found);
+        }
+        this.metrics.lastExpansions = this.alreadySeen.size() - seen;
+        long searched = System.nanoTime();
+        this.metrics.lastSearchNanos = searched - start;
         // Based on the cells in alreadySeen, backtrack to reconstruct the right path
         this.correctPath = this.board.reconstruct(this.board.get(0),
                 this.board.get(this.horLength * this.verLength - 1));
+        this.metrics.lastReconstructNanos = System.nanoTime() - searched;
+        // Record the search to be animated, scrubbed through and exported
+        this.trace = SearchTrace.record(this.board, this.seed, this.alreadySeen,
+                this.board.cameFrom, this.correctPath);
+        this.replay = new TraceReplay(this.trace, this.board.grid);
+        event.end();
+        if (event.shouldCommit()) {
+            if (this.solver != null) {
+                event.solver = this.solver.name();
+            } else if (dfs) {
+                event.solver = "DFS";
+            } else {
+                event.solver = "BFS";
+            }
+            event.expansions = this.metrics.lastExpansions;
+            event.pathLength = this.correctPath.size();
+            event.commit();
+        }
     }
 
     // Visualizes the current scene
     public WorldScene makeScene() {
-        WorldScene scene = new WorldScene(1500, 900);
-        // Visualizes all cells
-        for (int h = 0; h < this.horLength; h++) {
-            for (int v = 0; v < this.verLength; v++) {
-                this.board.get(h + this.horLength * v).drawCell(scene);
-            }
+        FrameEvent event = new FrameEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CountingScene scene = new CountingScene(1500, 900);
+        // Visualizes all cells and edges, repainting only what changed
+        int repainted;
+        if (this.layers == null) {
+            this.layers = new MazeLayers(this.board, this.horLength, this.verLength,
+                    this.edgesKnocked, this.view);
+            repainted = this.view.columns() * this.view.rows();
+        } else {
+            repainted = this.layers.dirty.size();
         }
+        this.layers.draw(scene);
+
         // Creates an outline for the maze
         this.drawOutline(scene);
 
-        // Visualizes all edges
-        for (Edge edge : this.worklist) {
-            if (!edgesKnocked.contains(edge)) {
-                edge.drawEdge(scene);
-            }
-        }
-
         // Displays the section of the game that allows the user to choose dfs or bfs
         this.drawButtons(scene);
 
@@ -207,23 +368,29 @@ class MazeWorld extends World {
             scene.placeImageXY(new TextImage("You solved it! Click "
                     + "the board to play again :)", 30, Color.black), 500, 650);
         }
+        this.metrics.frame(start, scene.images, repainted);
+        event.end();
+        if (event.shouldCommit()) {
+            event.images = scene.images;
+            event.cells = repainted;
+            event.commit();
+        }
         return scene;
     }
 
     // Helper for makeScene to draw the maze outline
-    // EFFECT: Places an outline for the maze on the given scene
+    // EFFECT: Places an outline around the part of the maze shown on the given scene
     void drawOutline(WorldScene scene) {
-        scene.placeImageXY(new RectangleImage(2, this.verLength
-                * this.board.get(0).dimen(false), "solid", Color.darkGray), 1, this.verLength
-                        * this.board.get(0).dimen(false) / 2);
-        scene.placeImageXY(new RectangleImage(2, this.verLength * this.board.get(0).dimen(false),
-                "solid", Color.darkGray), this.horLength * this.board.get(0).dimen(true),
-                this.verLength * this.board.get(0).dimen(false) / 2);
-        scene.placeImageXY(new RectangleImage(this.horLength * this.board.get(0).dimen(true), 2,
-                "solid", Color.darkGray), this.horLength * this.board.get(0).dimen(true) / 2, 1);
-        scene.placeImageXY(new RectangleImage(this.horLength * this.board.get(0).dimen(true), 2,
-                "solid", Color.darkGray), this.horLength * this.board.get(0).dimen(true) / 2,
-                this.verLength * this.board.get(0).dimen(false));
+        int width = this.view.pixelWidth();
+        int height = this.view.pixelHeight();
+        scene.placeImageXY(new RectangleImage(2, height, "solid", Color.darkGray), 1,
+                height / 2);
+        scene.placeImageXY(new RectangleImage(2, height, "solid", Color.darkGray), width,
+                height / 2);
+        scene.placeImageXY(new RectangleImage(width, 2, "solid", Color.darkGray), width / 2,
+                1);
+        scene.placeImageXY(new RectangleImage(width, 2, "solid", Color.darkGray), width / 2,
+                height);
     }
 
     // Helper for makeScene to draw the game buttons
@@ -232,69 +399,101 @@ class MazeWorld extends World {
         if (!searching && !started) {
             scene.placeImageXY(new TextImage("Maze Loading...", 23, Color.black), 1160, 100);
         } else {
-            if (!searching) {
-                // Before the user has clicked a button
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 160);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 230);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 300);
-            }
-            // Illuminates the button the user clicked
-            else if (manual) {
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 160);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 230);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.cyan), 1160, 300);
-            } else if (dfs && searching) {
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.cyan), 1160, 160);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 230);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 300);
-            } else if (!dfs && searching) {
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 160);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.cyan), 1160, 230);
-                scene.placeImageXY(new RectangleImage(130, 50, "solid", Color.lightGray), 1160, 300);
+            // The button the user clicked, which is illuminated
+            String chosen = "";
+            if (searching && manual) {
+                chosen = "Manual";
+            } else if (searching && this.solver != null) {
+                chosen = this.solver.name();
+            } else if (searching && dfs) {
+                chosen = "DFS";
+            } else if (searching) {
+                chosen = "BFS";
             }
             scene.placeImageXY(new TextImage("Let's play!", 25, Color.black), 1160, 80);
             scene.placeImageXY(new TextImage("Choose an option:", 23, Color.black), 1160, 110);
-            scene.placeImageXY(new RectangleImage(130, 50, "outline", Color.black), 1160, 160);
-            scene.placeImageXY(new RectangleImage(130, 50, "outline", Color.black), 1160, 230);
-            scene.placeImageXY(new RectangleImage(130, 50, "outline", Color.black), 1160, 300);
-            scene.placeImageXY(new TextImage("DFS", 23, Color.black), 1160, 160);
-            scene.placeImageXY(new TextImage("BFS", 23, Color.black), 1160, 230);
-            scene.placeImageXY(new TextImage("Manual", 23, Color.black), 1160, 300);
+            String[] buttons = { "DFS", "BFS", "Manual", "A*", "Bi-BFS", "Dijkstra" };
+            for (int b = 0; b < buttons.length; b++) {
+                Color fill = Color.lightGray;
+                if (buttons[b].equals(chosen)) {
+                    fill = Color.cyan;
+                }
+                scene.placeImageXY(new RectangleImage(130, 50, "solid", fill), 1160, 160 + 70 * b);
+                scene.placeImageXY(new RectangleImage(130, 50, "outline", Color.black), 1160,
+                        160 + 70 * b);
+                scene.placeImageXY(new TextImage(buttons[b], 23, Color.black), 1160, 160 + 70 * b);
+            }
+        }
+        // Shows where the replay of the search is while it is scrubbed through
+        if (this.paused && this.replay != null) {
+            scene.placeImageXY(new TextImage("Step " + this.replay.position + " of "
+                    + this.trace.steps() + " (p, ',' and '.')", 13, Color.black), 1160, 560);
+        }
+        if (this.exportMessage != null) {
+            scene.placeImageXY(new TextImage(this.exportMessage, 13, Color.black), 1160, 575);
+        }
+        // Shows the timings of this game under the buttons if the user asked for them
+        if (this.showMetrics) {
+            String[] lines = this.metrics.lines();
+            for (int l = 0; l < lines.length; l++) {
+                scene.placeImageXY(new TextImage(lines[l], 13, Color.darkGray), 1160, 595 + 18 * l);
+            }
         }
     }
 
-    // Handles the passing of time
+    // Handles the passing of time, recording how long it takes
     public void onTick() {
+        TickEvent event = new TickEvent();
+        event.begin();
+        long start = System.nanoTime();
+        long startBytes = MazeMetrics.allocated();
+        this.advance();
+        this.metrics.tick(start, startBytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.round = this.round;
+            event.edgeRound = this.edgeRound;
+            event.commit();
+        }
+    }
+
+    // Helper for onTick that advances the animation of this game by as many
+    // steps as the animation scheduler asks for
+    // EFFECT: knocks down the next walls, or colors the next cells searched
+    void advance() {
         // Display the edges knocking down at the beginning of the game
         if (!started && !searching && edgeRound < edgesInTree.size()) {
-            edgesKnocked.add(edgesInTree.get(edgeRound));
-            edgeRound = edgeRound + 1;
+            int steps = this.animation.batch(edgeRound, edgesInTree.size());
+            for (int s = 0; s < steps; s++) {
+                edgesKnocked.addFrom(edgesInTree, edgeRound);
+                if (this.layers != null) {
+                    this.layers.knock(edgesInTree.get(edgeRound));
+                }
+                edgeRound = edgeRound + 1;
+            }
         } else if (edgeRound == edgesInTree.size()) {
             this.started = true;
         }
         // If the user is not solving manually
-        if (searching && !manual && !over) {
+        if (searching && !manual && !over && !paused) {
             // Animate the search automatically in pink
-            if (!this.board.get((this.horLength * this.verLength) - 1).searched()) {
-                this.alreadySeen.get(this.round).changeColor(Color.pink);
-                this.round = this.round + 1;
+            if (this.round < this.alreadySeen.size()) {
+                int steps = this.animation.batch(this.round, this.alreadySeen.size());
+                this.round = this.round + steps;
+                this.replay.seek(this.round, this.layers);
             }
             // Display the reconstructed path in magenta
             else {
                 this.over = true;
-                for (Cell cell : this.correctPath) {
-                    cell.changeColor(Color.magenta);
-                }
+                this.replay.seek(this.trace.steps(), this.layers);
             }
         }
         // If the user finished solving manually, display the reconstructed in magenta
-        else if (manual && !over && searching && started
-                && alreadySeen.contains(this.board.get((this.horLength * this.verLength) - 1))) {
+        else if (manual && !over && searching && started && this.manualPath.reachedGoal) {
             this.over = true;
-            this.correctPath = this.board.reconstruct(this.board.get(0),
-                    this.board.get(horLength * verLength - 1), this.cameFromEdge);
+            this.correctPath = this.manualPath.path(this.board);
             for (Cell cell : this.correctPath) {
-                cell.changeColor(Color.magenta);
+                this.recolor(cell, Color.magenta);
             }
         }
     }
@@ -306,6 +505,7 @@ class MazeWorld extends World {
             if (posn.y < 185 && posn.y > 135) {
                 this.dfs = true;
                 this.manual = false;
+                this.solver = null;
                 this.searchMaze();
                 this.searching = true;
             }
@@ -313,6 +513,7 @@ class MazeWorld extends World {
             else if (posn.y < 255 && posn.y > 205) {
                 this.dfs = false;
                 this.manual = false;
+                this.solver = null;
                 this.searchMaze();
                 this.searching = true;
             }
@@ -321,39 +522,383 @@ class MazeWorld extends World {
                 this.searching = true;
                 this.manual = true;
                 this.alreadySeen.add(this.board.get(0));
-                this.cameFromEdge = new ArrayList<Cell>();
+                this.manualPath = new ManualPath(this.horLength * this.verLength, 0,
+                        this.horLength * this.verLength - 1);
+            }
+            // If the user clicked the A* button
+            else if (posn.y < 395 && posn.y > 345) {
+                this.manual = false;
+                this.solver = new AStarSolver();
+                this.searchMaze();
+                this.searching = true;
+            }
+            // If the user clicked the bidirectional bfs button
+            else if (posn.y < 465 && posn.y > 415) {
+                this.manual = false;
+                this.solver = new BidirectionalSolver();
+                this.searchMaze();
+                this.searching = true;
+            }
+            // If the user clicked the dijkstra button
+            else if (posn.y < 535 && posn.y > 485) {
+                this.manual = false;
+                this.solver = new DijkstraSolver(this.board.grid.terrain);
+                this.searchMaze();
+                this.searching = true;
             }
         }
         // If the user clicked to generate a new random maze, reset everything
-        else if (over && posn.x < 1000 && posn.y < 600) {
-            this.searching = false;
-            this.started = false;
-            this.round = 0;
-            this.over = false;
-            this.started = false;
-            this.alreadySeen = new ArrayList<Cell>();
-            this.edgesKnocked = new ArrayList<Edge>();
-            this.edgeRound = 0;
-            this.manual = false;
-
-            // Create the board, worklist, and representatives for this maze game
-            this.makeFields(false);
+        else if (this.restartsOn(posn)) {
+            // Swap in the next maze game if it was already generated in the
+            // background, and hand this one back to have its arrays reused
+            MazeWorld ready = null;
+            if (this.pipeline != null) {
+                ready = this.pipeline.take(this.horLength, this.verLength, this.algorithm,
+                        this.nextSeed);
+            }
+            this.restart(ready);
+        }
+    }
 
-            // Sort the worklist by ascending weight
-            Collections.sort(this.worklist, new CompareEdges());
+    // Determines if a click at the given position starts the next maze game
+    boolean restartsOn(Posn posn) {
+        return this.over && posn.x < 1000 && posn.y < 600;
+    }
+
+    // Helper method that starts the next maze game, swapping in the maze of the
+    // given game if it was already generated, or otherwise generating it in place.
+    // The given game is handed back to the pipeline to have its arrays reused
+    // EFFECT: resets the state of this game and replaces its maze
+    void restart(MazeWorld ready) {
+        this.searching = false;
+        this.started = false;
+        this.round = 0;
+        this.over = false;
+        this.started = false;
+        this.edgeRound = 0;
+        this.manual = false;
+        this.solver = null;
+        this.trace = null;
+        this.replay = null;
+        this.paused = false;
+        this.exportMessage = null;
+        if (ready != null) {
+            this.swapMaze(ready);
+            if (this.pipeline != null) {
+                this.pipeline.recycle(ready);
+            }
+        } else {
+            // Create the board and the walls sorted by ascending weight for
+            // the next maze game, seeded by this one
+            this.seed = this.nextSeed;
+            this.makeFields(false);
 
             // Make randomized maze with one, non-cyclic path to any two cells
             this.makeMaze();
         }
+        this.layTerrain();
+        if (this.pipeline != null) {
+            this.pipeline.prefetch(this.horLength, this.verLength, this.algorithm,
+                    this.nextSeed);
+        }
+    }
+
+    // EFFECT: takes the mazes of restarts from the given pipeline, and starts it
+    // generating the next maze
+    void usePipeline(MazePipeline pipeline) {
+        this.pipeline = pipeline;
+        pipeline.prefetch(this.horLength, this.verLength, this.algorithm, this.nextSeed);
+    }
+
+    // Helper method that generates a new maze from the given seed in place of
+    // this one, reusing the arrays of this one
+    // EFFECT: replaces the board and edges of this maze
+    void regenerate(long seed) {
+        this.seed = seed;
+        this.makeFields(false);
+        this.makeMaze();
+    }
+
+    // Helper method that trades the generated maze of this game for the one of the
+    // given game, which must have the same size and algorithm
+    // EFFECT: swaps the board, edges, generators and seeds of this and the given
+    void swapMaze(MazeWorld other) {
+        long seed = this.seed;
+        this.seed = other.seed;
+        other.seed = seed;
+        long nextSeed = this.nextSeed;
+        this.nextSeed = other.nextSeed;
+        other.nextSeed = nextSeed;
+        SplittableRandom rand = this.rand;
+        this.rand = other.rand;
+        other.rand = rand;
+        Graph board = this.board;
+        this.board = other.board;
+        other.board = board;
+        AMazeGenerator generator = this.generator;
+        this.generator = other.generator;
+        other.generator = generator;
+        EdgeList edges = this.edgesInTree;
+        this.edgesInTree = other.edgesInTree;
+        other.edgesInTree = edges;
+        edges = this.edgesKnocked;
+        this.edgesKnocked = other.edgesKnocked;
+        other.edgesKnocked = edges;
+        CellList seen = this.alreadySeen;
+        this.alreadySeen = other.alreadySeen;
+        other.alreadySeen = seen;
+        this.layers = null;
+        other.layers = null;
+        this.metrics.fieldsNanos = other.metrics.fieldsNanos;
+        this.metrics.sortNanos = other.metrics.sortNanos;
+        this.metrics.mazeNanos = other.metrics.mazeNanos;
+        this.metrics.generationBytes = other.metrics.generationBytes;
+    }
+
+    // Helper method that changes the color of a cell and marks it to be repainted
+    // EFFECT: changes the color of the given cell to the given
+    void recolor(Cell cell, Color col) {
+        cell.changeColor(col);
+        if (this.layers != null) {
+            this.layers.invalidate(cell);
+        }
+    }
+
+    // Opens the wall between the two given neighboring cells of the generated
+    // maze, such as a door, returning whether it was up
+    // EFFECT: knocks the wall down, and shortens the path found through it
+    boolean openWall(int one, int two) {
+        int from = Math.min(one, two);
+        int to = Math.max(one, two);
+        this.checkWall(from, to);
+        if (!this.board.openPassage(from, to)) {
+            return false;
+        }
+        // Knock the wall down now if the animation already knocked the others
+        // down, otherwise it is knocked down after them
+        boolean knocked = this.edgeRound == this.edgesInTree.size();
+        this.edgesInTree.addEdge(from, to != from + 1);
+        if (knocked) {
+            this.edgesKnocked.addFrom(this.edgesInTree, this.edgeRound);
+            if (this.layers != null) {
+                this.layers.knock(this.edgesInTree.get(this.edgeRound));
+            }
+            this.edgeRound = this.edgeRound + 1;
+        }
+        if (this.shownPath()) {
+            this.shortcutPath(from, to);
+        } else if (this.manual && this.searching && !this.manualPath.rooted()
+                && this.board.connected(0, this.manualPath.current())) {
+            // The player was cut off from the first cell until now, so their path
+            // starts from it again
+            this.manualPath.reroute(this.board.forest.path(0, this.manualPath.current()));
+        }
+        return true;
+    }
+
+    // Closes the wall between the two given neighboring cells of the generated
+    // maze, such as a door, returning whether it was open
+    // EFFECT: puts the wall back up, and reroutes the path found or the path of
+    // the player if they went through it
+    boolean closeWall(int one, int two) {
+        int from = Math.min(one, two);
+        int to = Math.max(one, two);
+        this.checkWall(from, to);
+        if (!this.board.closePassage(from, to)) {
+            return false;
+        }
+        boolean below = to != from + 1;
+        int pos = this.edgesInTree.position(from, below);
+        if (pos != -1) {
+            Edge edge = this.edgesInTree.remove(pos);
+            if (pos < this.edgeRound) {
+                this.edgesKnocked.remove(this.edgesKnocked.position(from, below));
+                this.edgeRound = this.edgeRound - 1;
+                if (this.layers != null) {
+                    this.layers.raise(edge);
+                }
+            }
+        }
+        // The search no longer reaches either cell through the wall
+        int[] cameFrom = this.board.cameFrom;
+        if (cameFrom != null && cameFrom[to] == from) {
+            cameFrom[to] = -1;
+        }
+        if (cameFrom != null && cameFrom[from] == to) {
+            cameFrom[from] = -1;
+        }
+        if (this.shownPath()) {
+            this.reroutePath(from, to);
+        } else if (this.manual && this.searching && this.manualPath.crosses(from, to)) {
+            int current = this.manualPath.current();
+            if (this.board.connected(0, current)) {
+                this.manualPath.reroute(this.board.forest.path(0, current));
+            } else {
+                // The player was cut off from the first cell, so their path now
+                // starts from the cell on their side of the wall
+                int start = Math.max(this.manualPath.position[from],
+                        this.manualPath.position[to]) - 1;
+                this.manualPath.reroute(Arrays.copyOfRange(this.manualPath.cells, start,
+                        this.manualPath.depth));
+            }
+        }
+        return true;
+    }
+
+    // Helper method that checks that the two given cells, where one is the left
+    // or top cell, are neighbors in a maze that was already generated
+    void checkWall(int one, int two) {
+        if (this.board.neighbors == null) {
+            throw new IllegalArgumentException("The maze isn't generated yet");
+        }
+        if (one < 0 || two >= this.horLength * this.verLength
+                || (two != one + this.horLength && (two != one + 1 || two % this.horLength == 0))) {
+            throw new IllegalArgumentException("Cells " + one + " and " + two
+                    + " aren't neighbors");
+        }
+    }
+
+    // Determines if this game has found a path from the first to the last cell,
+    // by a search or by the player
+    boolean shownPath() {
+        return this.searching && this.correctPath != null && (!this.manual || this.over);
+    }
+
+    // Helper method that cuts the cells between the two given cells out of the path
+    // found if both are on it, or finds a path if there was none, since the wall
+    // between them opened
+    // EFFECT: changes correctPath and the search it came from
+    void shortcutPath(int one, int two) {
+        if (this.correctPath.isEmpty()) {
+            this.showPath(this.forestPath());
+            return;
+        }
+        int first = -1;
+        int second = -1;
+        // The beginning cell closes the path, so leave it out
+        for (int p = 0; p < this.correctPath.size() - 1; p++) {
+            int idx = this.correctPath.get(p).idx;
+            if (first == -1 && (idx == one || idx == two)) {
+                first = p;
+            } else if (first != -1 && (idx == one || idx == two)) {
+                second = p;
+            }
+        }
+        if (second - first > 1) {
+            ArrayList<Cell> path = new ArrayList<Cell>(this.correctPath);
+            path.subList(first + 1, second).clear();
+            if (this.board.cameFrom != null) {
+                this.board.cameFrom[path.get(first).idx] = path.get(first + 1).idx;
+            }
+            this.showPath(path);
+        }
     }
 
-    // Handles key events if the user is solving manually
+    // Helper method that finds another path from the first to the last cell if
+    // the path found went between the two given cells, since the wall between
+    // them closed
+    // EFFECT: changes correctPath and the search it came from
+    void reroutePath(int one, int two) {
+        boolean crossed = false;
+        for (int p = 0; p < this.correctPath.size() - 2 && !crossed; p++) {
+            int idx = this.correctPath.get(p).idx;
+            int next = this.correctPath.get(p + 1).idx;
+            crossed = (idx == one && next == two) || (idx == two && next == one);
+        }
+        if (crossed) {
+            this.showPath(this.forestPath());
+        }
+    }
+
+    // Returns the path from the last to the first cell through the forest of
+    // passages, or an empty path if walls closed the last cell off
+    // EFFECT: changes the cells the search came from to follow the path
+    ArrayList<Cell> forestPath() {
+        int last = this.horLength * this.verLength - 1;
+        ArrayList<Cell> path = new ArrayList<Cell>();
+        if (this.board.connected(last, 0)) {
+            path = this.board.pathBetween(this.board.get(last), this.board.get(0));
+            // The beginning cell also closes the path
+            path.add(this.board.get(0));
+            if (this.board.cameFrom != null) {
+                for (int p = 0; p < path.size() - 2; p++) {
+                    this.board.cameFrom[path.get(p).idx] = path.get(p + 1).idx;
+                }
+            }
+        }
+        return path;
+    }
+
+    // Helper method that shows the given path from the last to the first cell
+    // instead of the path found before
+    // EFFECT: changes correctPath, the trace of the search and the colors of
+    // the cells on either path
+    void showPath(ArrayList<Cell> path) {
+        if (this.replay != null) {
+            int[] cells = new int[path.size()];
+            for (int p = 0; p < cells.length; p++) {
+                cells[p] = path.get(p).idx;
+            }
+            this.replay.reroute(cells, this.layers);
+        } else if (this.over) {
+            for (Cell cell : this.correctPath) {
+                this.recolor(cell, Color.pink);
+            }
+            for (Cell cell : path) {
+                this.recolor(cell, Color.magenta);
+            }
+        }
+        this.correctPath = path;
+    }
+
+    // Handles key events if the user is solving manually, toggles the metrics and
+    // skips animations
     // EFFECT: Adds cels to the fields of this
     public void onKeyEvent(String key) {
-        // If the user is solving manually
-        if (manual && !over && started) {
-            Cell current = alreadySeen.get(alreadySeen.size() - 1);
-            current.changeColor(Color.pink);
+        // If the user pressed m, show or hide the metrics
+        if (key.equals("m")) {
+            this.showMetrics = !this.showMetrics;
+        }
+        // If the user pressed s while walls are knocked down or a search is
+        // colored, finish it on the next tick
+        if (key.equals("s") && !over
+                && (edgeRound < edgesInTree.size() || (searching && !manual))) {
+            this.animation.skip();
+            this.paused = false;
+        }
+        // If the user pressed t before choosing how to solve the maze, add or
+        // remove its terrain
+        if (key.equals("t") && started && !searching) {
+            this.rough = !this.rough;
+            this.layTerrain();
+            this.layers = null;
+        }
+        // If the user pressed p while a search is animated, pause or resume it
+        if (key.equals("p") && !over && searching && !manual) {
+            this.paused = !this.paused;
+        }
+        // If the user pressed , or . after an automatic search, step the replay
+        // of the search backward or forward
+        if ((key.equals(",") || key.equals(".")) && searching && !manual) {
+            this.scrub(key.equals(",") ? -1 : 1);
+        }
+        // If the user pressed =, -, 0 or one of i, j, k and l, zoom in, zoom out,
+        // show the whole maze or move the part shown up, left, down or right
+        if (this.moveView(key) && this.layers != null) {
+            this.layers.refresh();
+        }
+        // If the user pressed e once the maze is generated, save a picture of it
+        if (key.equals("e") && started) {
+            this.exportImage(Path.of("maze-" + this.seed + ".png"));
+        }
+        // If the user pressed x after an automatic search, save its trace
+        if (key.equals("x") && searching && !manual) {
+            this.exportTrace(Path.of("maze-" + this.seed + ".trace"));
+        }
+        // If the user is solving manually and hasn't reached the last cell yet
+        if (manual && !over && started && !this.manualPath.reachedGoal) {
+            Cell current = this.board.get(this.manualPath.current());
+            this.recolor(current, Color.pink);
             // If the user pressed up and there's a neighbor above
             if (key.equals("up") && current.idx >= horLength) {
                 this.manualNeighbors(current, current.idx - horLength);
@@ -370,21 +915,157 @@ class MazeWorld extends World {
             else if (key.equals("right") && (current.idx + 1) % horLength != 0) {
                 this.manualNeighbors(current, current.idx + 1);
             } else {
-                current.changeColor(Color.magenta);
+                this.recolor(current, Color.magenta);
             }
         }
     }
 
+    // Helper method that shows the whole maze, keeping the part shown from the last
+    // maze if it had the same size
+    // EFFECT: creates the viewport of this game
+    void fitView() {
+        if (this.view == null || this.view.horLength != this.horLength
+                || this.view.verLength != this.verLength) {
+            this.view = new Viewport(this.horLength, this.verLength);
+        }
+    }
+
+    // Helper method that zooms or pans the viewport for the given key, returning
+    // whether the part of the maze shown changed
+    // EFFECT: changes the zoom or position of this game's viewport
+    boolean moveView(String key) {
+        if (key.equals("=") || key.equals("+")) {
+            return this.view.zoomIn();
+        } else if (key.equals("-")) {
+            return this.view.zoomOut();
+        } else if (key.equals("0")) {
+            boolean all = this.view.showsAll() && this.view.left == 0 && this.view.top == 0;
+            this.view.fit();
+            return !all;
+        } else if (key.equals("i")) {
+            return this.view.pan(0, -1);
+        } else if (key.equals("j")) {
+            return this.view.pan(-1, 0);
+        } else if (key.equals("k")) {
+            return this.view.pan(0, 1);
+        } else if (key.equals("l")) {
+            return this.view.pan(1, 0);
+        } else {
+            return false;
+        }
+    }
+
+    // Helper method that covers the board with terrain generated from the seed of
+    // this maze if this game is rough, or otherwise removes it
+    // EFFECT: fills or removes the terrain of this board's grid
+    void layTerrain() {
+        Grid grid = this.board.grid;
+        if (!this.rough) {
+            grid.terrain = null;
+        } else {
+            if (grid.terrain == null || grid.terrain.length != grid.size()) {
+                grid.terrain = new byte[grid.size()];
+            }
+            new Terrain(new SplittableRandom(this.seed).split()).lay(grid.terrain, this.horLength);
+        }
+    }
+
+    // Helper method that pauses the replay of the search and moves it by the given
+    // amount of hundredths of its steps
+    // EFFECT: recolors the cells between the current and the new step of the replay
+    void scrub(int hundredths) {
+        this.paused = true;
+        int stride = Math.max(1, this.trace.steps() / 100);
+        int step = Math.max(0, Math.min(this.trace.steps(),
+                this.replay.position + hundredths * stride));
+        this.replay.seek(step, this.layers);
+        this.round = Math.min(step, this.alreadySeen.size());
+        this.over = step == this.trace.steps();
+    }
+
+    // EFFECT: writes a picture of the maze as it is shown now to the given file,
+    // noting the outcome to be shown under the buttons
+    void exportImage(Path file) {
+        try {
+            MazeRaster raster = new MazeRaster(this.board.grid,
+                    MazeRaster.fit(this.horLength, this.verLength));
+            raster.draw();
+            raster.write(file);
+            this.exportMessage = "Saved " + file;
+        } catch (IOException e) {
+            this.exportMessage = "Couldn't save " + file;
+        }
+    }
+
+    // EFFECT: writes the trace of the last search to the given file, noting the
+    // outcome to be shown under the buttons
+    void exportTrace(Path file) {
+        try {
+            this.trace.write(file);
+            this.exportMessage = "Saved " + file;
+        } catch (IOException e) {
+            this.exportMessage = "Couldn't save " + file;
+        }
+    }
+
+    // EFFECT: replaces the search of this game with a replay of the given trace of
+    // a search of this maze, paused at its first step, knocking down any walls
+    // still standing. If this game was searched already, notes the first step
+    // where the two searches differ
+    void loadTrace(SearchTrace trace) {
+        if (trace.seed != this.seed) {
+            throw new IllegalArgumentException("Trace of the maze with seed " + trace.seed
+                    + " can't be replayed on the maze with seed " + this.seed);
+        }
+        TraceReplay replay = new TraceReplay(trace, this.board.grid);
+        if (this.trace != null) {
+            int step = trace.divergence(this.trace);
+            if (step == trace.steps()) {
+                this.exportMessage = "Trace matches the last search";
+            } else {
+                this.exportMessage = "Trace differs from the last search at step " + step;
+            }
+        }
+        while (this.edgeRound < this.edgesInTree.size()) {
+            this.edgesKnocked.addFrom(this.edgesInTree, this.edgeRound);
+            this.edgeRound = this.edgeRound + 1;
+        }
+        this.board.grid.reset();
+        this.layers = null;
+        this.started = true;
+        this.searching = true;
+        this.manual = false;
+        this.over = false;
+        this.paused = true;
+        this.round = 0;
+        this.alreadySeen = new CellList(this.board.grid, trace.order.length);
+        for (int idx : trace.order) {
+            this.alreadySeen.addIndex(idx);
+        }
+        this.correctPath = new ArrayList<Cell>(trace.path.length);
+        for (int idx : trace.path) {
+            this.correctPath.add(this.board.get(idx));
+        }
+        this.trace = trace;
+        this.replay = replay;
+    }
+
     // Helper method that adds to the fields of this if the user is solving manually
     // EFFECT: Adds cells to the fields of this
     void manualNeighbors(Cell current, int nextIdx) {
-        if (current.getNeighbors(edgesInTree, this.board.cells).contains(this.board.get(nextIdx))) {
+        if (this.board.neighbors.connected(current.idx, nextIdx)) {
             alreadySeen.add(this.board.get(nextIdx));
-            this.board.get(nextIdx).changeColor(Color.magenta);
-            this.cameFromEdge.add(current);
-            this.cameFromEdge.add(board.get(nextIdx));
+            this.recolor(this.board.get(nextIdx), Color.magenta);
+            this.manualPath.move(nextIdx);
+            // Follow the user when they walk out of the part of the maze shown
+            if (!this.view.contains(nextIdx)) {
+                this.view.center(nextIdx % this.horLength, nextIdx / this.horLength);
+                if (this.layers != null) {
+                    this.layers.refresh();
+                }
+            }
         } else {
-            current.changeColor(Color.magenta);
+            this.recolor(current, Color.magenta);
         }
     }
 }
\ No newline at end of file
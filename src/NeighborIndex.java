@@ -0,0 +1,112 @@
+import java.util.Arrays;
+
+// Represents a precomputed index of the open passages in a generated maze,
+// so that finding the neighbors of a cell doesn't require scanning every edge
+class NeighborIndex {
+    // Bits of the open-wall mask of a cell
+    static final byte NORTH = 1;
+    static final byte EAST = 2;
+    static final byte SOUTH = 4;
+    static final byte WEST = 8;
+
+    // The amount of cells there are in one row
+    int horLength;
+    // The reachable neighbors of every cell, four slots per cell, stored in the
+    // same order as the edges they came from
+    int[] adj;
+    // The amount of reachable neighbors of every cell
+    byte[] degree;
+    // The open walls of every cell as a mask of NORTH, EAST, SOUTH and WEST
+    byte[] open;
+
+    // Creates an index for a maze of the given size where every wall is up
+    NeighborIndex(int horLength, int verLength) {
+        this.horLength = horLength;
+        this.adj = new int[horLength * verLength * 4];
+        this.degree = new byte[horLength * verLength];
+        this.open = new byte[horLength * verLength];
+    }
+
+    // EFFECT: puts every wall back up, so that this can index another maze of the
+    // same size
+    void clear() {
+        Arrays.fill(this.degree, (byte) 0);
+        Arrays.fill(this.open, (byte) 0);
+    }
+
+    // EFFECT: records a passage between the two cells at the given indices,
+    // where from is the left or top cell
+    void link(int from, int to) {
+        this.adj[from * 4 + this.degree[from]] = to;
+        this.degree[from] = (byte) (this.degree[from] + 1);
+        this.adj[to * 4 + this.degree[to]] = from;
+        this.degree[to] = (byte) (this.degree[to] + 1);
+        if (to == from + 1) {
+            this.open[from] |= EAST;
+            this.open[to] |= WEST;
+        } else {
+            this.open[from] |= SOUTH;
+            this.open[to] |= NORTH;
+        }
+    }
+
+    // EFFECT: removes the passage between the two cells at the given indices,
+    // where from is the left or top cell, keeping the other neighbors of both
+    // in order
+    void unlink(int from, int to) {
+        this.drop(from, to);
+        this.drop(to, from);
+        if (to == from + 1) {
+            this.open[from] &= ~EAST;
+            this.open[to] &= ~WEST;
+        } else {
+            this.open[from] &= ~SOUTH;
+            this.open[to] &= ~NORTH;
+        }
+    }
+
+    // EFFECT: removes the given neighbor from the reachable neighbors of the cell
+    // at the given index
+    void drop(int idx, int neighbor) {
+        int k = 0;
+        while (this.adj[idx * 4 + k] != neighbor) {
+            k = k + 1;
+        }
+        while (k < this.degree[idx] - 1) {
+            this.adj[idx * 4 + k] = this.adj[idx * 4 + k + 1];
+            k = k + 1;
+        }
+        this.degree[idx] = (byte) (this.degree[idx] - 1);
+    }
+
+    // Returns the amount of reachable neighbors of the cell at the given index
+    int degree(int idx) {
+        return this.degree[idx];
+    }
+
+    // Returns the index of the kth reachable neighbor of the cell at the given index
+    int neighbor(int idx, int k) {
+        return this.adj[idx * 4 + k];
+    }
+
+    // Determines if the wall on the given side of the cell at the given index is open
+    boolean isOpen(int idx, byte dir) {
+        return (this.open[idx] & dir) != 0;
+    }
+
+    // Determines if the two cells at the given indices are adjacent and have no
+    // wall between them
+    boolean connected(int one, int two) {
+        if (two == one + 1) {
+            return this.isOpen(one, EAST);
+        } else if (two == one - 1) {
+            return this.isOpen(one, WEST);
+        } else if (two == one + this.horLength) {
+            return this.isOpen(one, SOUTH);
+        } else if (two == one - this.horLength) {
+            return this.isOpen(one, NORTH);
+        } else {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+// Represents a headless generator of very large random mazes that runs
+// kruskal's algorithm on square tiles of the grid in parallel, then links the
+// tiles together with a second, sequential pass of kruskal's algorithm over
+// the edges between tiles. Since every tile becomes a spanning tree of its
+// cells, and the second pass only links different trees, the result is still
+// a spanning tree of the whole grid: one, non-cyclic path to any two cells
+class ParallelMazeGenerator {
+    // The pool running the tiles
+    ForkJoinPool pool;
+    // The source of the random edge weights, split once per tile
+    SplittableRandom rand;
+    // The amount of cells along each side of a tile
+    int tileSize;
+
+    ParallelMazeGenerator(ForkJoinPool pool, SplittableRandom rand, int tileSize) {
+        if (tileSize < 2) {
+            throw new IllegalArgumentException("Tiles must be at least 2x2");
+        }
+        this.pool = pool;
+        this.rand = rand;
+        this.tileSize = tileSize;
+    }
+
+    // Generates a maze of the given size with one, non-cyclic path to any two cells
+    Maze generate(int horLength, int verLength) {
+        Maze maze = new Maze(horLength, verLength);
+        DisjointSet representatives = new DisjointSet(maze.size());
+        int tilesAcross = (horLength + this.tileSize - 1) / this.tileSize;
+        int tilesDown = (verLength + this.tileSize - 1) / this.tileSize;
+        // Every tile gets its own random source, so tiles don't contend for one
+        SplittableRandom[] tileRands = new SplittableRandom[tilesAcross * tilesDown];
+        for (int t = 0; t < tileRands.length; t++) {
+            tileRands[t] = this.rand.split();
+        }
+        this.pool.invoke(new TileTask(maze, representatives, tileRands, this.tileSize,
+                tilesAcross, 0, tileRands.length));
+        this.linkTiles(maze, representatives);
+        return maze;
+    }
+
+    // Helper method that links the spanning trees of all tiles into one
+    // EFFECT: opens passages in the given maze across the borders of tiles
+    void linkTiles(Maze maze, DisjointSet representatives) {
+        int horLength = maze.horLength;
+        int cells = maze.size();
+        int edgeAmount = 0;
+        for (int m = 0; m < cells; m++) {
+            if (this.crossesLeft(m, horLength)) {
+                edgeAmount = edgeAmount + 1;
+            }
+            if (this.crossesTop(m, horLength)) {
+                edgeAmount = edgeAmount + 1;
+            }
+        }
+        // List and weigh the edges between tiles, which are then knocked down
+        // like the walls of a whole maze
+        KruskalGenerator kruskal = new KruskalGenerator(this.rand);
+        kruskal.clear(edgeAmount, edgeAmount * 2);
+        for (int m = 0; m < cells; m++) {
+            if (this.crossesLeft(m, horLength)) {
+                kruskal.add(m, false);
+            }
+            if (this.crossesTop(m, horLength)) {
+                kruskal.add(m, true);
+            }
+        }
+        kruskal.sort();
+        kruskal.knockDown(maze, representatives, horLength, edgeAmount);
+    }
+
+    // Determines if the edge to the left of the cell at the given index is on
+    // the border between two tiles
+    boolean crossesLeft(int idx, int horLength) {
+        int col = idx % horLength;
+        return col > 0 && col % this.tileSize == 0;
+    }
+
+    // Determines if the edge above the cell at the given index is on the border
+    // between two tiles
+    boolean crossesTop(int idx, int horLength) {
+        int row = idx / horLength;
+        return row > 0 && row % this.tileSize == 0;
+    }
+}
@@ -0,0 +1,32 @@
+import java.util.concurrent.RecursiveAction;
+
+// Represents a band of rows of cells of a maze to draw into its image, split in
+// half until it is at most BAND_ROWS rows. Every band only writes its own rows
+// of pixels, so bands never conflict
+class RasterBandTask extends RecursiveAction {
+    static final long serialVersionUID = 1L;
+
+    // The image being drawn
+    MazeRaster raster;
+    // The range of rows of this band, from the first (inclusive) to the last
+    // (exclusive)
+    int first;
+    int last;
+
+    RasterBandTask(MazeRaster raster, int first, int last) {
+        this.raster = raster;
+        this.first = first;
+        this.last = last;
+    }
+
+    // Draws the rows of this, splitting the range in half until it is small
+    protected void compute() {
+        if (this.last - this.first <= MazeRaster.BAND_ROWS) {
+            this.raster.drawRows(this.first, this.last);
+        } else {
+            int middle = (this.first + this.last) / 2;
+            invokeAll(new RasterBandTask(this.raster, this.first, middle),
+                    new RasterBandTask(this.raster, middle, this.last));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Represents a search of a maze and the reconstruction of its path, recorded by
+// Java Flight Recorder
+@Name("maze.Search")
+@Label("Maze Search")
+@Category("Maze")
+@Description("A search of a maze and the reconstruction of its path")
+class SearchEvent extends jdk.jfr.Event {
+    @Label("Solver")
+    String solver;
+    @Label("Cells Expanded")
+    int expansions;
+    @Label("Path Length")
+    int pathLength;
+}
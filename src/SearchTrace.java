@@ -0,0 +1,161 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Represents a recorded search of a maze as flat arrays of cell indices, so that
+// it can be replayed, compared and saved without searching again or holding
+// cells. A trace file starts with a header of:
+//   the magic bytes "TRCE", the format VERSION (int), the horLength (int), the
+//   verLength (int), the seed of the maze (long), the amount of expansions (int)
+//   and the length of the path (int)
+// followed by the expansion order, the parent of every expansion and the path,
+// as ints
+class SearchTrace {
+    // The bytes every trace file starts with
+    static final int MAGIC = 0x54524345;
+    // The version of the format this reads and writes
+    static final int VERSION = 1;
+
+    // The amount of cells in one row and in one column of the searched maze
+    int horLength;
+    int verLength;
+    // The seed the searched maze was generated from
+    long seed;
+    // The indices of the cells in the order they were expanded
+    int[] order;
+    // The index of the cell every expanded cell was first reached from, by
+    // position in order, or -1 if it wasn't reached from another cell
+    int[] parent;
+    // The indices of the cells on the path found, from the last cell back to the first
+    int[] path;
+
+    SearchTrace(int horLength, int verLength, long seed, int[] order, int[] parent,
+            int[] path) {
+        if (order.length != parent.length) {
+            throw new IllegalArgumentException("Every expanded cell needs a parent");
+        }
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.seed = seed;
+        this.order = order;
+        this.parent = parent;
+        this.path = path;
+    }
+
+    // Returns the trace of the given cells seen by a search of the given board,
+    // where cameFrom holds the index each cell was reached from, and path is the
+    // path it found
+    static SearchTrace record(Graph board, long seed, CellList seen, int[] cameFrom,
+            List<Cell> path) {
+        int[] order = new int[seen.size()];
+        int[] parent = new int[seen.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = seen.index(i);
+            parent[i] = cameFrom[order[i]];
+        }
+        int[] pathCells = new int[path.size()];
+        for (int i = 0; i < pathCells.length; i++) {
+            pathCells[i] = path.get(i).idx;
+        }
+        return new SearchTrace(board.grid.horLength, board.grid.verLength, seed, order, parent,
+                pathCells);
+    }
+
+    // Returns the amount of steps a replay of this takes: one per expanded cell,
+    // and one to show the path
+    int steps() {
+        return this.order.length + 1;
+    }
+
+    // Returns the first step where this and the given trace expand different
+    // cells or reach a cell from different cells, or steps() if they don't differ
+    int divergence(SearchTrace other) {
+        int common = Math.min(this.order.length, other.order.length);
+        for (int i = 0; i < common; i++) {
+            if (this.order[i] != other.order[i] || this.parent[i] != other.parent[i]) {
+                return i;
+            }
+        }
+        if (this.order.length != other.order.length
+                || !Arrays.equals(this.path, other.path)) {
+            return common;
+        }
+        return this.steps();
+    }
+
+    // EFFECT: writes this trace to the given file
+    void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(this.horLength);
+            out.writeInt(this.verLength);
+            out.writeLong(this.seed);
+            out.writeInt(this.order.length);
+            out.writeInt(this.path.length);
+            for (int idx : this.order) {
+                out.writeInt(idx);
+            }
+            for (int idx : this.parent) {
+                out.writeInt(idx);
+            }
+            for (int idx : this.path) {
+                out.writeInt(idx);
+            }
+        }
+    }
+
+    // Reads the trace in the given file
+    static SearchTrace read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a trace file: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported trace file version " + version);
+            }
+            int horLength = in.readInt();
+            int verLength = in.readInt();
+            long seed = in.readLong();
+            long size = (long) horLength * verLength;
+            int expanded = in.readInt();
+            int pathLength = in.readInt();
+            if (horLength < 2 || verLength < 2 || size > Integer.MAX_VALUE
+                    || expanded < 0 || expanded > size || pathLength < 0
+                    || pathLength > size + 1) {
+                throw new IllegalArgumentException("Trace file is corrupt: " + file);
+            }
+            int[] order = SearchTrace.readCells(in, expanded, size, false);
+            int[] parent = SearchTrace.readCells(in, expanded, size, true);
+            int[] path = SearchTrace.readCells(in, pathLength, size, false);
+            return new SearchTrace(horLength, verLength, seed, order, parent, path);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Trace file is truncated: " + file);
+        }
+    }
+
+    // Reads the given amount of cell indices below the given size, which may be
+    // -1 if none is allowed
+    static int[] readCells(DataInputStream in, int amount, long size, boolean none)
+            throws IOException {
+        int[] cells = new int[amount];
+        for (int i = 0; i < amount; i++) {
+            cells[i] = in.readInt();
+            if (cells[i] >= size || cells[i] < (none ? -1 : 0)) {
+                throw new IllegalArgumentException("Trace has a cell outside the maze: "
+                        + cells[i]);
+            }
+        }
+        return cells;
+    }
+}
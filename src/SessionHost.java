@@ -0,0 +1,268 @@
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Hosts many independent games in one JVM over a local socket. Every
+// connection is one GameSession speaking a line based protocol (see
+// GameSession.handle). One selector thread handles all connections, a few
+// scheduler threads share the ticks of all sessions, and as many worker
+// threads generate the mazes players ask for, so thousands of sessions don't
+// need thousands of threads
+// Usage: SessionHost [port] [tick millis] [tick threads] [session budget MB]
+public class SessionHost {
+    // The sessions ticked by each scheduler thread
+    ArrayList<CopyOnWriteArrayList<GameSession>> shards;
+    // The most heap each session's game may take, in bytes
+    long memoryBudget;
+    // The id of the next session
+    int nextId;
+    // The selector of all connections
+    Selector selector;
+    // Generates the games players ask for off the selector thread
+    ExecutorService makers;
+    // The connections whose new game was made, to be answered by the selector thread
+    ConcurrentLinkedQueue<SelectionKey> made;
+
+    SessionHost(int tickThreads, long memoryBudget) {
+        this.shards = new ArrayList<CopyOnWriteArrayList<GameSession>>();
+        for (int t = 0; t < tickThreads; t++) {
+            this.shards.add(new CopyOnWriteArrayList<GameSession>());
+        }
+        this.memoryBudget = memoryBudget;
+        this.nextId = 0;
+        this.made = new ConcurrentLinkedQueue<SelectionKey>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+        long tickMillis = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        int tickThreads = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        long budget = (args.length > 3 ? Long.parseLong(args[3]) : 64) * 1024 * 1024;
+        new SessionHost(tickThreads, budget).serve(port, tickMillis);
+    }
+
+    // EFFECT: ticks every session on the scheduler, and serves connections on the
+    // given local port until the process ends
+    void serve(int port, long tickMillis) throws IOException {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(this.shards.size());
+        for (CopyOnWriteArrayList<GameSession> shard : this.shards) {
+            scheduler.scheduleAtFixedRate(() -> this.tickAll(shard), tickMillis, tickMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        this.makers = Executors.newFixedThreadPool(this.shards.size());
+        Selector selector = Selector.open();
+        this.selector = selector;
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        System.out.println("Hosting games on 127.0.0.1:" + port);
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        while (true) {
+            selector.select();
+            this.answerMade();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                try {
+                    if (key.isAcceptable()) {
+                        this.accept(server, selector);
+                    } else {
+                        if (key.isReadable()) {
+                            this.read(key, buffer);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            this.flush(key);
+                        }
+                    }
+                } catch (IOException e) {
+                    this.close(key);
+                }
+            }
+        }
+    }
+
+    // EFFECT: ticks every session in the given shard, dropping the game of any
+    // session whose game fails so that it can't affect the others. The player
+    // is told there's no game until they start a new one
+    void tickAll(CopyOnWriteArrayList<GameSession> shard) {
+        for (GameSession session : shard) {
+            try {
+                session.tick();
+            } catch (RuntimeException e) {
+                shard.remove(session);
+                session.drop();
+            }
+        }
+    }
+
+    // EFFECT: accepts a new connection as a new session
+    void accept(ServerSocketChannel server, Selector selector) throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        GameSession session = new GameSession(this.nextId, this.memoryBudget);
+        this.nextId = this.nextId + 1;
+        this.shards.get(session.id % this.shards.size()).add(session);
+        channel.register(selector, SelectionKey.OP_READ, session);
+    }
+
+    // EFFECT: reads what the player of the given connection sent, and replies to
+    // every whole line
+    void read(SelectionKey key, ByteBuffer buffer) throws IOException {
+        GameSession session = (GameSession) key.attachment();
+        buffer.clear();
+        if (((SocketChannel) key.channel()).read(buffer) < 0) {
+            this.close(key);
+            return;
+        }
+        buffer.flip();
+        StringBuilder replies = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                session.input.flip();
+                String line = StandardCharsets.UTF_8.decode(session.input).toString();
+                session.input.clear();
+                if (!this.answer(key, line, replies)) {
+                    return;
+                }
+            } else if (session.input.hasRemaining()) {
+                session.input.put(b);
+            }
+        }
+        this.send(key, replies);
+    }
+
+    // Answers the given line from the player of the given connection, adding the
+    // reply to the given replies, or starting to make the game of a NEW line.
+    // Returns false if the player quit
+    // EFFECT: closes the connection if the player quit
+    boolean answer(SelectionKey key, String line, StringBuilder replies) {
+        GameSession session = (GameSession) key.attachment();
+        if (line.trim().equals("QUIT")) {
+            this.close(key);
+            return false;
+        }
+        // Lines after a NEW line are answered once its game is made, unless the
+        // player keeps sending them without waiting
+        if (session.making != null) {
+            if (session.waiting.size() >= GameSession.MAX_WAITING) {
+                this.close(key);
+                return false;
+            }
+            session.waiting.add(line);
+            return true;
+        }
+        String reply;
+        try {
+            reply = session.handle(line);
+        } catch (RuntimeException e) {
+            reply = "ERR " + e;
+        }
+        if (reply == null) {
+            this.makers.execute(() -> {
+                // The line is answered even if making its game fails, so that
+                // the lines after it don't wait forever
+                try {
+                    session.make();
+                } catch (RuntimeException e) {
+                    session.madeReply = "ERR " + e;
+                } finally {
+                    this.made.add(key);
+                    this.selector.wakeup();
+                }
+            });
+        } else {
+            replies.append(reply).append('\n');
+        }
+        return true;
+    }
+
+    // EFFECT: answers the NEW lines whose games were made, followed by the lines
+    // that came after them
+    void answerMade() {
+        SelectionKey key = this.made.poll();
+        while (key != null) {
+            if (key.isValid()) {
+                GameSession session = (GameSession) key.attachment();
+                // Tick the session again if its last game failed
+                this.shards.get(session.id % this.shards.size()).addIfAbsent(session);
+                StringBuilder replies = new StringBuilder();
+                replies.append(session.madeReply).append('\n');
+                session.making = null;
+                boolean open = true;
+                while (open && session.making == null && !session.waiting.isEmpty()) {
+                    open = this.answer(key, session.waiting.poll(), replies);
+                }
+                if (open) {
+                    try {
+                        this.send(key, replies);
+                    } catch (IOException e) {
+                        this.close(key);
+                    }
+                }
+            }
+            key = this.made.poll();
+        }
+    }
+
+    // EFFECT: adds the given replies to the waiting output of the given
+    // connection, and sends as much of it as the socket takes
+    // Throws IOException if the player left too many replies unread
+    void send(SelectionKey key, StringBuilder replies) throws IOException {
+        if (replies.length() > 0) {
+            GameSession session = (GameSession) key.attachment();
+            ByteBuffer bytes = StandardCharsets.UTF_8.encode(replies.toString());
+            if (session.output.remaining() + bytes.remaining() > GameSession.MAX_OUTPUT) {
+                throw new IOException("Session " + session.id + " isn't reading its replies");
+            }
+            ByteBuffer output = ByteBuffer.allocate(session.output.remaining() + bytes.remaining());
+            output.put(session.output).put(bytes).flip();
+            session.output = output;
+            this.flush(key);
+        }
+    }
+
+    // EFFECT: sends as much of the given connection's waiting output as the
+    // socket takes, waiting to be writable again if some is left
+    void flush(SelectionKey key) throws IOException {
+        GameSession session = (GameSession) key.attachment();
+        ((SocketChannel) key.channel()).write(session.output);
+        if (session.output.hasRemaining()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // EFFECT: closes the given connection and drops its session
+    void close(SelectionKey key) {
+        GameSession session = (GameSession) key.attachment();
+        if (session != null) {
+            this.shards.get(session.id % this.shards.size()).remove(session);
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The connection is gone either way
+        }
+    }
+}
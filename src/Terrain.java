@@ -0,0 +1,58 @@
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Represents a generator of the terrain of a maze, which scatters round patches
+// of mud and water over plain ground. Every cell has one kind of terrain, and
+// entering a cell costs the cost of its kind
+class Terrain {
+    // The kinds of terrain, by their code in a terrain array
+    static final byte GROUND = 0;
+    static final byte MUD = 1;
+    static final byte WATER = 2;
+    // The cost of entering a cell of every kind of terrain
+    static final int[] COSTS = { 1, 4, 9 };
+    // The color of an unvisited cell of every kind of terrain
+    static final Color[] COLORS = { Color.lightGray, new Color(196, 164, 132),
+        new Color(150, 190, 230) };
+    // The amount of cells per patch of mud or water
+    static final int CELLS_PER_PATCH = 48;
+    // The largest radius of a patch
+    static final int MAX_RADIUS = 4;
+
+    // The source of the places, sizes and kinds of the patches
+    SplittableRandom rand;
+
+    Terrain(SplittableRandom rand) {
+        this.rand = rand;
+    }
+
+    // Returns the terrain of a maze of the given size
+    byte[] lay(int horLength, int verLength) {
+        byte[] terrain = new byte[horLength * verLength];
+        this.lay(terrain, horLength);
+        return terrain;
+    }
+
+    // EFFECT: fills the given terrain of a maze with the given amount of cells in
+    // one row with ground, then scatters patches of mud and water over it
+    void lay(byte[] terrain, int horLength) {
+        Arrays.fill(terrain, GROUND);
+        int verLength = terrain.length / horLength;
+        int patches = terrain.length / CELLS_PER_PATCH;
+        for (int p = 0; p < patches; p++) {
+            int center = this.rand.nextInt(terrain.length);
+            int radius = 1 + this.rand.nextInt(MAX_RADIUS);
+            byte kind = this.rand.nextInt(3) == 0 ? WATER : MUD;
+            int x = center % horLength;
+            int y = center / horLength;
+            for (int dy = Math.max(-radius, -y); dy <= radius && y + dy < verLength; dy++) {
+                for (int dx = Math.max(-radius, -x); dx <= radius && x + dx < horLength; dx++) {
+                    if (dx * dx + dy * dy <= radius * radius) {
+                        terrain[center + dy * horLength + dx] = kind;
+                    }
+                }
+            }
+        }
+    }
+}
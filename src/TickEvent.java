@@ -0,0 +1,16 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// Represents a tick of a maze game, recorded by Java Flight Recorder
+@Name("maze.Tick")
+@Label("Maze Tick")
+@Category("Maze")
+@Description("A tick of a maze game")
+class TickEvent extends jdk.jfr.Event {
+    @Label("Search Round")
+    int round;
+    @Label("Edge Round")
+    int edgeRound;
+}
@@ -0,0 +1,79 @@
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+// Represents a range of tiles of a maze to generate with kruskal's algorithm,
+// split in half until it is a single tile. Every tile only touches its own
+// cells in the shared representatives and passages, so tiles never conflict
+class TileTask extends RecursiveAction {
+    static final long serialVersionUID = 1L;
+
+    // The maze being generated
+    Maze maze;
+    // The representative of every cell in the maze, shared by all tiles
+    DisjointSet representatives;
+    // The random source of every tile
+    SplittableRandom[] tileRands;
+    // The amount of cells along each side of a tile
+    int tileSize;
+    // The amount of tiles in one row of the maze
+    int tilesAcross;
+    // The range of tiles of this task, from the first (inclusive) to the last
+    // (exclusive), in row-major order
+    int first;
+    int last;
+
+    TileTask(Maze maze, DisjointSet representatives, SplittableRandom[] tileRands,
+            int tileSize, int tilesAcross, int first, int last) {
+        this.maze = maze;
+        this.representatives = representatives;
+        this.tileRands = tileRands;
+        this.tileSize = tileSize;
+        this.tilesAcross = tilesAcross;
+        this.first = first;
+        this.last = last;
+    }
+
+    // Generates the tiles of this, splitting the range in half until it is one tile
+    protected void compute() {
+        if (this.last - this.first == 1) {
+            this.generateTile(this.first);
+        } else {
+            int middle = (this.first + this.last) / 2;
+            invokeAll(new TileTask(this.maze, this.representatives, this.tileRands,
+                    this.tileSize, this.tilesAcross, this.first, middle),
+                    new TileTask(this.maze, this.representatives, this.tileRands,
+                            this.tileSize, this.tilesAcross, middle, this.last));
+        }
+    }
+
+    // Helper method that turns the tile at the given index into a spanning tree
+    // of its cells using kruskal's algorithm over the edges inside it
+    // EFFECT: unions the tile's cells and opens passages between them
+    void generateTile(int tile) {
+        int horLength = this.maze.horLength;
+        int left = tile % this.tilesAcross * this.tileSize;
+        int top = tile / this.tilesAcross * this.tileSize;
+        int right = Math.min(left + this.tileSize, horLength);
+        int bottom = Math.min(top + this.tileSize, this.maze.verLength);
+        int width = right - left;
+        int height = bottom - top;
+        int edgeAmount = (width - 1) * height + width * (height - 1);
+        // List and weigh the walls inside the tile, which are then knocked down
+        // like the walls of a whole maze
+        KruskalGenerator kruskal = new KruskalGenerator(this.tileRands[tile]);
+        kruskal.clear(edgeAmount, edgeAmount * 2);
+        for (int row = top; row < bottom; row++) {
+            for (int col = left; col < right; col++) {
+                int m = row * horLength + col;
+                if (col > left) {
+                    kruskal.add(m, false);
+                }
+                if (row > top) {
+                    kruskal.add(m, true);
+                }
+            }
+        }
+        kruskal.sort();
+        kruskal.knockDown(this.maze, this.representatives, horLength, width * height - 1);
+    }
+}
@@ -0,0 +1,107 @@
+import java.awt.Color;
+
+// Represents a replay of a search trace onto the cells of a grid, which can seek
+// to any step of the trace, forward or backward. Every step recolors cells, and
+// remembers their colors from before it, so that seeking only recolors the
+// cells of the steps between where the replay is and where it goes
+class TraceReplay {
+    // The search being replayed
+    SearchTrace trace;
+    // The cells being recolored
+    Grid grid;
+    // The amount of steps of the trace shown on the grid
+    int position;
+    // The color code every expanded cell had before its step, by position in order
+    byte[] before;
+    // The color code every cell on the path had before the path was shown
+    byte[] pathBefore;
+
+    TraceReplay(SearchTrace trace, Grid grid) {
+        if (trace.horLength != grid.horLength || trace.verLength != grid.verLength) {
+            throw new IllegalArgumentException("Trace of a " + trace.horLength + "x"
+                    + trace.verLength + " maze can't be replayed on a " + grid.horLength + "x"
+                    + grid.verLength + " maze");
+        }
+        this.trace = trace;
+        this.grid = grid;
+        this.position = 0;
+        this.before = new byte[trace.order.length];
+        this.pathBefore = new byte[trace.path.length];
+    }
+
+    // EFFECT: shows the given amount of steps of the trace on the grid, marking
+    // every recolored cell to be repainted by the given layers, if there are any
+    void seek(int step, MazeLayers layers) {
+        if (step < 0 || step > this.trace.steps()) {
+            throw new IllegalArgumentException("Step " + step + " of " + this.trace.steps());
+        }
+        while (this.position < step) {
+            this.apply(this.position, layers);
+            this.position = this.position + 1;
+        }
+        while (this.position > step) {
+            this.position = this.position - 1;
+            this.undo(this.position, layers);
+        }
+    }
+
+    // EFFECT: replaces the path of the trace with the given, such as after walls
+    // changed, recoloring only the cells of both paths if the path is shown
+    void reroute(int[] path, MazeLayers layers) {
+        boolean shown = this.position == this.trace.steps();
+        if (shown) {
+            this.seek(this.position - 1, layers);
+        }
+        this.trace.path = path;
+        this.pathBefore = new byte[path.length];
+        if (shown) {
+            this.seek(this.trace.steps(), layers);
+        }
+    }
+
+    // EFFECT: colors the cell expanded by the given step pink, or the path magenta
+    // if it is the last step
+    void apply(int step, MazeLayers layers) {
+        int[] order = this.trace.order;
+        if (step < order.length) {
+            this.before[step] = this.grid.state[order[step]];
+            this.recolor(order[step], Color.pink, layers);
+        } else {
+            int[] path = this.trace.path;
+            for (int p = 0; p < path.length; p++) {
+                this.pathBefore[p] = this.grid.state[path[p]];
+                this.recolor(path[p], Color.magenta, layers);
+            }
+        }
+    }
+
+    // EFFECT: puts back the colors the given step changed
+    void undo(int step, MazeLayers layers) {
+        int[] order = this.trace.order;
+        if (step < order.length) {
+            this.restore(order[step], this.before[step], layers);
+        } else {
+            int[] path = this.trace.path;
+            // The path may pass a cell twice, so restore in the opposite order
+            for (int p = path.length - 1; p >= 0; p--) {
+                this.restore(path[p], this.pathBefore[p], layers);
+            }
+        }
+    }
+
+    // EFFECT: changes the color of the cell at the given index to the given
+    void recolor(int idx, Color col, MazeLayers layers) {
+        this.grid.changeColor(idx, col);
+        if (layers != null) {
+            layers.invalidate(new Cell(this.grid, idx));
+        }
+    }
+
+    // EFFECT: changes the color code of the cell at the given index to the given
+    void restore(int idx, byte code, MazeLayers layers) {
+        this.grid.state[idx] = code;
+        if (layers != null) {
+            layers.invalidate(new Cell(this.grid, idx));
+        }
+    }
+}
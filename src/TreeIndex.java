@@ -0,0 +1,112 @@
+// Represents the spanning tree of a generated maze rooted at one cell, indexed
+// so that the path between any two cells can be found without searching.
+// Every cell keeps one jump pointer to an ancestor, chosen so that any
+// ancestor, and the lowest common ancestor of any two cells, can be reached in
+// O(log n) jumps like with binary lifting, while only taking O(n) memory
+class TreeIndex {
+    // The cell at the top of the tree
+    int root;
+    // The parent of every cell, where the root is its own parent
+    int[] parent;
+    // The amount of passages between every cell and the root
+    int[] depth;
+    // The jump pointer of every cell, to an ancestor at most twice as far as
+    // the last jump
+    int[] jump;
+
+    // Indexes the tree of the maze with the given passages, rooted at the given cell
+    TreeIndex(NeighborIndex passages, int root) {
+        int size = passages.degree.length;
+        this.root = root;
+        this.parent = new int[size];
+        this.depth = new int[size];
+        this.jump = new int[size];
+        this.parent[root] = root;
+        this.jump[root] = root;
+        // Visit the cells breadth first, so every parent is indexed before its children
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 1;
+        queue[0] = root;
+        while (head < tail) {
+            int next = queue[head];
+            head = head + 1;
+            for (int k = 0; k < passages.degree(next); k++) {
+                int n = passages.neighbor(next, k);
+                if (n != this.parent[next]) {
+                    this.parent[n] = next;
+                    this.depth[n] = this.depth[next] + 1;
+                    // Jump twice as far as the parent's jump if its jump and the
+                    // jump from there are the same length, otherwise to the parent
+                    int up = this.jump[next];
+                    if (this.depth[next] - this.depth[up] == this.depth[up]
+                            - this.depth[this.jump[up]]) {
+                        this.jump[n] = this.jump[up];
+                    } else {
+                        this.jump[n] = next;
+                    }
+                    queue[tail] = n;
+                    tail = tail + 1;
+                }
+            }
+        }
+    }
+
+    // Returns the ancestor of the given cell at the given depth
+    int ancestorAt(int cell, int targetDepth) {
+        while (this.depth[cell] > targetDepth) {
+            if (this.depth[this.jump[cell]] >= targetDepth) {
+                cell = this.jump[cell];
+            } else {
+                cell = this.parent[cell];
+            }
+        }
+        return cell;
+    }
+
+    // Returns the lowest common ancestor of the two given cells, where the paths
+    // from both to the root meet
+    int lca(int one, int two) {
+        if (this.depth[one] > this.depth[two]) {
+            one = this.ancestorAt(one, this.depth[two]);
+        } else {
+            two = this.ancestorAt(two, this.depth[one]);
+        }
+        // Both cells are at the same depth, so their jumps are the same length
+        while (one != two) {
+            if (this.jump[one] != this.jump[two]) {
+                one = this.jump[one];
+                two = this.jump[two];
+            } else {
+                one = this.parent[one];
+                two = this.parent[two];
+            }
+        }
+        return one;
+    }
+
+    // Returns the amount of passages on the path between the two given cells
+    int distance(int one, int two) {
+        return this.depth[one] + this.depth[two] - 2 * this.depth[this.lca(one, two)];
+    }
+
+    // Returns the cells on the path from the first given cell to the second
+    int[] path(int from, int to) {
+        int meet = this.lca(from, to);
+        int[] path = new int[this.depth[from] + this.depth[to] - 2 * this.depth[meet] + 1];
+        // Walk up from the beginning cell to where the paths meet
+        int i = 0;
+        for (int c = from; c != meet; c = this.parent[c]) {
+            path[i] = c;
+            i = i + 1;
+        }
+        path[i] = meet;
+        // Walk up from the ending cell, filling the rest of the path from the end
+        int j = path.length - 1;
+        for (int c = to; c != meet; c = this.parent[c]) {
+            path[j] = c;
+            j = j - 1;
+        }
+        return path;
+    }
+}
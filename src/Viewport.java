@@ -0,0 +1,170 @@
+// Represents the part of a maze shown on the 1000x600 board, as the cell at its
+// top left corner and a zoom level. Zoomed in, every cell is a rectangle of
+// cellWidth by cellHeight pixels. Zoomed out past one pixel per cell, every
+// pixel shows a block of block by block cells, where block is a power of 2
+class Viewport {
+    // The size of the board in pixels
+    static final int WIDTH = 1000;
+    static final int HEIGHT = 600;
+    // The largest a cell can be zoomed to
+    static final int MAX_CELL_PIXELS = 64;
+
+    // The dimensions of the maze in cells
+    int horLength;
+    int verLength;
+    // The amount of pixels along each side of a cell, 1 when cells are aggregated
+    int cellWidth;
+    int cellHeight;
+    // The amount of cells along each side of the block one pixel shows, 1 when
+    // zoomed in
+    int block;
+    // The column and row of the cell at the top left corner of the board,
+    // which are multiples of block
+    int left;
+    int top;
+
+    // Creates a viewport showing the whole maze of the given size
+    Viewport(int horLength, int verLength) {
+        this.horLength = horLength;
+        this.verLength = verLength;
+        this.fit();
+    }
+
+    // EFFECT: zooms to show the whole maze as large as it fits on the board
+    void fit() {
+        this.left = 0;
+        this.top = 0;
+        this.block = 1;
+        while ((this.horLength + this.block - 1) / this.block > WIDTH
+                || (this.verLength + this.block - 1) / this.block > HEIGHT) {
+            this.block = this.block * 2;
+        }
+        // A pixel shows a whole block along both sides, so a maze too wide for the
+        // board has one pixel per block even if it is short enough for taller cells
+        if (this.block > 1) {
+            this.cellWidth = 1;
+            this.cellHeight = 1;
+        } else {
+            this.cellWidth = Math.max(1, WIDTH / this.horLength);
+            this.cellHeight = Math.max(1, HEIGHT / this.verLength);
+        }
+    }
+
+    // Returns the amount of columns of cells shown
+    int columns() {
+        return Math.min(this.horLength - this.left, WIDTH / this.cellWidth * this.block);
+    }
+
+    // Returns the amount of rows of cells shown
+    int rows() {
+        return Math.min(this.verLength - this.top, HEIGHT / this.cellHeight * this.block);
+    }
+
+    // Returns the width of the shown part of the maze in pixels
+    int pixelWidth() {
+        return (this.columns() + this.block - 1) / this.block * this.cellWidth;
+    }
+
+    // Returns the height of the shown part of the maze in pixels
+    int pixelHeight() {
+        return (this.rows() + this.block - 1) / this.block * this.cellHeight;
+    }
+
+    // Returns the pixel of the left edge of the given column
+    int x(int col) {
+        return (col - this.left) / this.block * this.cellWidth;
+    }
+
+    // Returns the pixel of the top edge of the given row
+    int y(int row) {
+        return (row - this.top) / this.block * this.cellHeight;
+    }
+
+    // Determines if the cell at the given index is shown
+    boolean contains(int idx) {
+        int col = idx % this.horLength;
+        int row = idx / this.horLength;
+        return col >= this.left && col < this.left + this.columns() && row >= this.top
+                && row < this.top + this.rows();
+    }
+
+    // Determines if cells are large enough to show their walls
+    boolean showsWalls() {
+        return this.block == 1 && this.cellWidth > 1 && this.cellHeight > 1;
+    }
+
+    // Determines if the whole maze is shown
+    boolean showsAll() {
+        return this.columns() == this.horLength && this.rows() == this.verLength;
+    }
+
+    // Zooms in on the middle of the board, returning whether the zoom changed
+    // EFFECT: halves the block, or doubles the size of cells
+    boolean zoomIn() {
+        int col = this.left + this.columns() / 2;
+        int row = this.top + this.rows() / 2;
+        if (this.block > 1) {
+            this.block = this.block / 2;
+        } else if (this.cellWidth * 2 <= MAX_CELL_PIXELS
+                && this.cellHeight * 2 <= MAX_CELL_PIXELS) {
+            this.cellWidth = this.cellWidth * 2;
+            this.cellHeight = this.cellHeight * 2;
+        } else {
+            return false;
+        }
+        this.center(col, row);
+        return true;
+    }
+
+    // Zooms out from the middle of the board until the whole maze is shown,
+    // returning whether the zoom changed
+    // EFFECT: halves the size of cells, or doubles the block
+    boolean zoomOut() {
+        if (this.showsAll()) {
+            return false;
+        }
+        int col = this.left + this.columns() / 2;
+        int row = this.top + this.rows() / 2;
+        if (this.cellWidth > 1 || this.cellHeight > 1) {
+            this.cellWidth = Math.max(1, this.cellWidth / 2);
+            this.cellHeight = Math.max(1, this.cellHeight / 2);
+        } else {
+            this.block = this.block * 2;
+        }
+        this.center(col, row);
+        return true;
+    }
+
+    // Moves the board by the given amount of quarters of it across and down,
+    // returning whether it moved
+    // EFFECT: changes the cell at the top left corner
+    boolean pan(int across, int down) {
+        int left = this.left;
+        int top = this.top;
+        this.left = this.left + across * Math.max(this.block,
+                WIDTH / this.cellWidth * this.block / 4);
+        this.top = this.top + down * Math.max(this.block,
+                HEIGHT / this.cellHeight * this.block / 4);
+        this.clamp();
+        return left != this.left || top != this.top;
+    }
+
+    // EFFECT: moves the board so the given cell is as close to its middle as the
+    // edges of the maze allow
+    void center(int col, int row) {
+        this.left = col - WIDTH / this.cellWidth * this.block / 2;
+        this.top = row - HEIGHT / this.cellHeight * this.block / 2;
+        this.clamp();
+    }
+
+    // EFFECT: moves the top left corner into the maze, so that the board shows
+    // as much of the maze as it can, on a multiple of block
+    void clamp() {
+        this.left = Math.max(0, Math.min(this.left,
+                this.horLength - WIDTH / this.cellWidth * this.block));
+        this.top = Math.max(0, Math.min(this.top,
+                this.verLength - HEIGHT / this.cellHeight * this.block));
+        this.left = this.left / this.block * this.block;
+        this.top = this.top / this.block * this.block;
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.Arrays;
+
+// Represents a solver that walks a maze keeping its right hand on the wall.
+// In a maze with one, non-cyclic path to any two cells this always reaches the
+// last cell, and it needs no visited set, so it can solve a MappedMaze larger
+// than memory while only holding the path it has found so far
+class WallFollower {
+    // The directions of travel, clockwise from up
+    static final byte[] DIRS = { NeighborIndex.NORTH, NeighborIndex.EAST,
+        NeighborIndex.SOUTH, NeighborIndex.WEST };
+
+    // The amount of moves the last solve made
+    long steps;
+    // The cells on the path from the first cell to the current cell
+    long[] path;
+    // The amount of cells in path
+    int length;
+
+    // Returns the path from the first (top left) cell to the last (bottom right)
+    // cell of the given maze
+    long[] solve(MappedMaze maze) {
+        long goal = maze.size - 1;
+        long current = 0;
+        // Start facing right, along the top wall
+        int facing = 1;
+        this.steps = 0;
+        this.path = new long[1024];
+        this.path[0] = current;
+        this.length = 1;
+        while (current != goal) {
+            // Turn right if possible, otherwise straight, left, or back
+            int dir = (facing + 1) % 4;
+            while (!maze.isOpen(current, DIRS[dir])) {
+                dir = (dir + 3) % 4;
+            }
+            facing = dir;
+            current = this.step(current, dir, maze.horLength);
+            this.steps = this.steps + 1;
+            // Walking back into the previous cell of the path backtracks
+            if (this.length > 1 && this.path[this.length - 2] == current) {
+                this.length = this.length - 1;
+            } else {
+                if (this.length == this.path.length) {
+                    this.path = Arrays.copyOf(this.path, this.length * 2);
+                }
+                this.path[this.length] = current;
+                this.length = this.length + 1;
+            }
+        }
+        return Arrays.copyOf(this.path, this.length);
+    }
+
+    // Returns the index of the cell next to the given cell in the given direction
+    long step(long idx, int dir, int horLength) {
+        if (dir == 0) {
+            return idx - horLength;
+        } else if (dir == 1) {
+            return idx + 1;
+        } else if (dir == 2) {
+            return idx + horLength;
+        } else {
+            return idx - 1;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.SplittableRandom;
+
+// Represents a generator of random mazes using wilson's algorithm, which grows
+// the maze from one random cell by loop-erased random walks from every cell
+// not yet in it. Unlike the other generators, every possible maze is equally
+// likely, at the cost of long walks while the maze is still small
+class WilsonGenerator extends AMazeGenerator {
+    WilsonGenerator(SplittableRandom rand) {
+        super(rand);
+    }
+
+    // EFFECT: knocks down the walls of a maze of the given size in the given walls
+    void generate(int horLength, int verLength, IMazeWalls walls) {
+        int cells = horLength * verLength;
+        boolean[] inMaze = new boolean[cells];
+        // The cell every cell on the current walk last stepped to, which erases
+        // any loop of the walk when a cell is stepped from again
+        int[] next = new int[cells];
+        int[] options = new int[4];
+        inMaze[this.rand.nextInt(cells)] = true;
+        for (int start = 0; start < cells; start++) {
+            // Walk randomly until reaching the maze
+            int cell = start;
+            while (!inMaze[cell]) {
+                next[cell] = options[this.rand.nextInt(
+                        this.neighbors(cell, horLength, verLength, options))];
+                cell = next[cell];
+            }
+            // Add the walk without its loops to the maze
+            cell = start;
+            while (!inMaze[cell]) {
+                inMaze[cell] = true;
+                this.open(walls, cell, next[cell]);
+                cell = next[cell];
+            }
+        }
+    }
+
+    String name() {
+        return "wilson";
+    }
+}